@@ -0,0 +1,234 @@
+package com.example.tdd.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@SupportedAnnotationTypes(OptionProcessor.OPTION)
+public class OptionProcessor extends AbstractProcessor {
+    static final String OPTION = "com.example.tdd.Option";
+
+    static final Set<String> SUPPORTED_TYPES = Set.of(
+            "boolean",
+            "java.lang.String[]",
+            "java.lang.Integer[]",
+            "int[]",
+            "long[]",
+            "double[]",
+            "java.util.Map"
+    );
+
+    static final Set<String> VALUE_TYPES = Set.of(
+            "int",
+            "java.lang.Integer",
+            "long",
+            "java.lang.Long",
+            "double",
+            "java.lang.Double",
+            "java.lang.String",
+            "java.nio.file.Path",
+            "java.time.Duration"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> records = new LinkedHashSet<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            collectRecords(type, records);
+        }
+        records.stream().filter(this::hasOption).forEach(this::generate);
+        return false;
+    }
+
+    private void collectRecords(TypeElement type, Set<TypeElement> records) {
+        if (type.getKind() == ElementKind.RECORD) {
+            records.add(type);
+        }
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(it -> collectRecords(it, records));
+    }
+
+    private boolean hasOption(TypeElement record) {
+        return canonicalConstructor(record).getParameters().stream().anyMatch(it -> option(it).isPresent());
+    }
+
+    private void generate(TypeElement record) {
+        ExecutableElement constructor = canonicalConstructor(record);
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        boolean valid = true;
+        for (VariableElement parameter : parameters) {
+            valid &= check(parameter);
+        }
+        if (!valid || !parameters.stream().allMatch(this::supported)) {
+            return;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+        String parserName = parserName(record);
+        String recordName = record.getQualifiedName().toString();
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? parserName : packageName + "." + parserName, record)
+                .openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println("public final class " + parserName + " implements com.example.tdd.ArgsParser<" + recordName + "> {");
+            for (int i = 0; i < parameters.size(); i++) {
+                VariableElement parameter = parameters.get(i);
+                AnnotationMirror option = option(parameter).orElseThrow();
+                out.println("    private static final com.example.tdd.Option OPTION_" + i + " = com.example.tdd.Args.option(\""
+                        + escape(value(option, "value")) + "\", com.example.tdd.Format." + format(option) + ");");
+                out.println("    private static final com.example.tdd.OptionParser<" + boxed(parameter.asType()) + "> PARSER_" + i
+                        + " = " + parser(parameter.asType()) + ";");
+            }
+            out.print("    private static final com.example.tdd.FlagTrie FLAGS = com.example.tdd.FlagTrie.of(");
+            for (int i = 0; i < parameters.size(); i++) {
+                out.print((i > 0 ? ", " : "") + "OPTION_" + i);
+            }
+            out.println(");");
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + recordName + " parse(String... args) {");
+            out.println("        return parse(com.example.tdd.Args.tokenize(FLAGS, args));");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public com.example.tdd.ParseResult<" + recordName + "> tryParse(String... args) {");
+            out.println("        return com.example.tdd.ParseResult.collect(args, FLAGS, this::parse);");
+            out.println("    }");
+            out.println();
+            out.println("    private " + recordName + " parse(java.util.List<String> arguments) {");
+            out.println("        return new " + recordName + "(");
+            for (int i = 0; i < parameters.size(); i++) {
+                out.println("                PARSER_" + i + ".parse(arguments, OPTION_" + i + ")" + (i < parameters.size() - 1 ? "," : ""));
+            }
+            out.println("        );");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate " + parserName + ": " + e.getMessage(), record);
+        }
+    }
+
+    private boolean check(VariableElement parameter) {
+        Optional<? extends AnnotationMirror> option = option(parameter);
+        if (option.isEmpty()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "IllegalOptionException: " + parameter.getSimpleName() + " is not annotated with @Option", parameter);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean supported(VariableElement parameter) {
+        TypeMirror type = parameter.asType();
+        if (SUPPORTED_TYPES.contains(type.toString()) || isValue(type)
+                || type.getKind() == TypeKind.ARRAY && isValue(((ArrayType) type).getComponentType())
+                || mapArguments(type).stream().allMatch(this::isValue) && mapArguments(type).size() == 2) {
+            return true;
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "UnsupportedOptionTypeException: " + value(option(parameter).orElseThrow(), "value") + " has type " + type
+                        + " without a built-in parser, it is resolved at runtime", parameter);
+        return false;
+    }
+
+    private boolean isValue(TypeMirror type) {
+        return VALUE_TYPES.contains(type.toString())
+                || type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    private List<? extends TypeMirror> mapArguments(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED || !erasure(type).equals("java.util.Map")) {
+            return List.of();
+        }
+        return ((DeclaredType) type).getTypeArguments();
+    }
+
+    private String parser(TypeMirror type) {
+        List<? extends TypeMirror> arguments = mapArguments(type);
+        if (arguments.size() == 2) {
+            return "com.example.tdd.Args.mapParser(" + erasure(arguments.get(0)) + ".class, " + erasure(arguments.get(1)) + ".class)";
+        }
+        return "com.example.tdd.Args.optionParser(" + erasure(type) + ".class)";
+    }
+
+    private ExecutableElement canonicalConstructor(TypeElement record) {
+        List<TypeMirror> components = record.getRecordComponents().stream().map(RecordComponentElement::asType).toList();
+        return ElementFilter.constructorsIn(record.getEnclosedElements()).stream()
+                .filter(it -> it.getParameters().stream().map(VariableElement::asType).toList().toString().equals(components.toString()))
+                .findFirst().orElseThrow();
+    }
+
+    private Optional<? extends AnnotationMirror> option(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .filter(it -> ((TypeElement) it.getAnnotationType().asElement()).getQualifiedName().contentEquals(OPTION))
+                .findFirst();
+    }
+
+    private String value(AnnotationMirror option, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : option.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue().toString();
+            }
+        }
+        return null;
+    }
+
+    private String format(AnnotationMirror option) {
+        String format = value(option, "format");
+        return format == null ? "HYPHEN" : format;
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    private String erasure(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED ? processingEnv.getTypeUtils().erasure(type).toString() : type.toString();
+    }
+
+    static String parserName(TypeElement type) {
+        String name = type.getSimpleName() + "ArgsParser";
+        for (Element enclosing = type.getEnclosingElement(); !(enclosing instanceof PackageElement); enclosing = enclosing.getEnclosingElement()) {
+            name = enclosing.getSimpleName() + "_" + name;
+        }
+        return name;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.tdd.processor;
+
+import com.example.tdd.Args;
+import com.example.tdd.ArgsParser;
+import com.example.tdd.Format;
+import com.example.tdd.Option;
+import com.example.tdd.OptionParser;
+import com.example.tdd.ParseListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class GeneratedParserTest {
+    @AfterEach
+    void unlisten() {
+        Args.listen(null);
+    }
+
+    @Test
+    void should_generate_parser_for_test_sources() throws Exception {
+        Object parser = Class.forName(getClass().getName() + "_ServerOptionsArgsParser").getDeclaredConstructor().newInstance();
+
+        assertInstanceOf(ArgsParser.class, parser);
+    }
+
+    @Test
+    void should_parse_with_generated_parser_instead_of_reflection() {
+        List<String> events = new ArrayList<>();
+        Args.listen(new ParseListener() {
+            @Override
+            public void parsed(Class<?> optionClass, int tokens, long nanos) {
+                events.add("parsed");
+            }
+
+            @Override
+            public void optionParsed(Class<?> optionClass, Option option, Class<?> type, OptionParser<?> parser, long nanos) {
+                events.add(option.value());
+            }
+        });
+
+        ServerOptions options = Args.parse(ServerOptions.class, "-l", "--port", "8080");
+
+        assertEquals(new ServerOptions(true, 8080), options);
+        assertEquals(List.of("parsed"), events);
+    }
+
+    record ServerOptions(@Option("l") boolean logging, @Option(value = "port", format = Format.DASH) int port) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.tdd.processor;
+
+import com.example.tdd.Args;
+import com.example.tdd.ArgsParser;
+import com.example.tdd.ParseResult;
+import com.example.tdd.Problem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptionProcessorTest {
+    @TempDir
+    Path output;
+
+    @Test
+    void should_generate_parser_used_by_args() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("demo.Cli", """
+                package demo;
+                import com.example.tdd.*;
+                public class Cli {
+                    public record MultiOptions(@Option("l") boolean logging, @Option("p") int port,
+                                               @Option(value = "directory", format = Format.DASH) String directory) {
+                    }
+                }
+                """);
+        assertTrue(diagnostics.getDiagnostics().stream().noneMatch(it -> it.getKind() == Diagnostic.Kind.ERROR));
+        assertTrue(Files.exists(output.resolve("demo/Cli_MultiOptionsArgsParser.class")));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> optionClass = loader.loadClass("demo.Cli$MultiOptions");
+            Object parser = loader.loadClass("demo.Cli_MultiOptionsArgsParser").getDeclaredConstructor().newInstance();
+            assertInstanceOf(ArgsParser.class, parser);
+            Object options = Args.parse(optionClass, "-l", "-p", "8080", "--dir", "/usr/logs");
+            assertEquals(8080, optionClass.getMethod("port").invoke(options));
+            assertEquals("/usr/logs", optionClass.getMethod("directory").invoke(options));
+
+            ParseResult<?> result = Args.tryParse(optionClass, "-l", "t", "-p", "port");
+            assertEquals(List.of(new Problem(Problem.Kind.TOO_MANY_ARGUMENTS, "l", "t", 1),
+                    new Problem(Problem.Kind.ILLEGAL_VALUE, "p", "port", 3)), result.problems());
+        }
+    }
+
+    @Test
+    void should_report_missing_option_annotation_as_compile_error() {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("demo.Bad", """
+                package demo;
+                import com.example.tdd.*;
+                public class Bad {
+                    record OptionsWithoutAnnotation(@Option("l") boolean logging, int port) {
+                    }
+                }
+                """);
+        assertTrue(errors(diagnostics).stream().anyMatch(it -> it.startsWith("IllegalOptionException: port")));
+        assertFalse(Files.exists(output.resolve("demo/Bad_OptionsWithoutAnnotationArgsParser.class")));
+    }
+
+    @Test
+    void should_leave_type_without_built_in_parser_to_runtime_resolution() {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("demo.Bad", """
+                package demo;
+                import com.example.tdd.*;
+                public class Bad {
+                    record OptionsWithUnsupportedType(@Option("l") Object logging) {
+                    }
+                }
+                """);
+        assertTrue(errors(diagnostics).isEmpty());
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .filter(it -> it.getKind() == Diagnostic.Kind.WARNING)
+                .anyMatch(it -> it.getMessage(null).startsWith("UnsupportedOptionTypeException: l")));
+        assertFalse(Files.exists(output.resolve("demo/Bad_OptionsWithUnsupportedTypeArgsParser.class")));
+    }
+
+    @Test
+    void should_generate_parser_for_enum_path_and_map_options() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile("demo.Typed", """
+                package demo;
+                import com.example.tdd.*;
+                import java.nio.file.Path;
+                import java.util.Map;
+                public class Typed {
+                    public enum Mode {FAST, SAFE}
+                    public record TypedOptions(@Option("m") Mode mode, @Option("p") Path[] paths,
+                                               @Option("w") Map<Mode, Integer> weights) {
+                    }
+                }
+                """);
+        assertTrue(errors(diagnostics).isEmpty(), errors(diagnostics)::toString);
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> optionClass = loader.loadClass("demo.Typed$TypedOptions");
+            assertInstanceOf(ArgsParser.class, loader.loadClass("demo.Typed_TypedOptionsArgsParser").getDeclaredConstructor().newInstance());
+            Object options = Args.parse(optionClass, "-m", "SAFE", "-p", "/a", "-w", "FAST=2");
+            assertEquals("SAFE", optionClass.getMethod("mode").invoke(options).toString());
+            assertEquals("{FAST=2}", optionClass.getMethod("weights").invoke(options).toString());
+        }
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(String className, String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+                List.of("-d", output.toString(), "-classpath", System.getProperty("java.class.path")), null, List.of(file));
+        task.setProcessors(List.of(new OptionProcessor()));
+        task.call();
+        return diagnostics;
+    }
+
+    private static List<String> errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        return diagnostics.getDiagnostics().stream()
+                .filter(it -> it.getKind() == Diagnostic.Kind.ERROR)
+                .map(it -> it.getMessage(null))
+                .toList();
+    }
+}
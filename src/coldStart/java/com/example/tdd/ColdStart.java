@@ -0,0 +1,16 @@
+package com.example.tdd;
+
+import java.lang.management.ManagementFactory;
+
+public class ColdStart {
+    public static void main(String[] args) {
+        ServerOptions options = Args.parse(ServerOptions.class, args);
+        long parsed = System.currentTimeMillis();
+        System.out.println("port " + options.port() + " parsed " + (parsed - ManagementFactory.getRuntimeMXBean().getStartTime()) + " ms after launch");
+    }
+
+    record ServerOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory,
+                         @Option(value = "group", format = Format.DASH) String[] group,
+                         @Option(value = "decimals", format = Format.DASH) int[] decimals) {
+    }
+}
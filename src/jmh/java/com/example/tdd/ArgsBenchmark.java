@@ -0,0 +1,74 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.Throughput)
+public class ArgsBenchmark {
+    record MultiOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
+    }
+
+    record ListOptions(@Option("g") String[] group, @Option("d") Integer[] decimals) {
+    }
+
+    record MultiFullOptions(@Option(value = "logging", format = Format.DASH) boolean logging,
+                            @Option(value = "port", format = Format.DASH) int port,
+                            @Option(value = "directory", format = Format.DASH) String directory) {
+    }
+
+    record PrimitiveListOptions(@Option("d") int[] decimals) {
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lists {
+        @Param({"1000", "100000"})
+        int size;
+
+        String[] integers;
+        String[] strings;
+
+        @Setup
+        public void setup() {
+            integers = Stream.concat(Stream.of("-d"), IntStream.range(0, size).mapToObj(String::valueOf)).toArray(String[]::new);
+            strings = Stream.concat(Stream.of("-g"), IntStream.range(0, size).mapToObj(it -> "value" + it)).toArray(String[]::new);
+        }
+    }
+
+    @Benchmark
+    public MultiOptions multi_options() {
+        return Args.parse(MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
+    }
+
+    @Benchmark
+    public ListOptions list_options() {
+        return Args.parse(ListOptions.class, "-g", "this", "is", "a", "list", "-d", "1", "2", "-3", "5");
+    }
+
+    @Benchmark
+    public MultiFullOptions multi_full_options() {
+        return Args.parse(MultiFullOptions.class, "--logging", "--port", "8080", "--directory", "/usr/logs");
+    }
+
+    @Benchmark
+    public ListOptions integer_list(Lists lists) {
+        return Args.parse(ListOptions.class, lists.integers);
+    }
+
+    @Benchmark
+    public ListOptions string_list(Lists lists) {
+        return Args.parse(ListOptions.class, lists.strings);
+    }
+
+    @Benchmark
+    public PrimitiveListOptions int_array(Lists lists) {
+        return Args.parse(PrimitiveListOptions.class, lists.integers);
+    }
+}
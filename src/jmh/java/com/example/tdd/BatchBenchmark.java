@@ -0,0 +1,46 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class BatchBenchmark {
+    private static final int SIZE = 100_000;
+
+    @Param({"1", "2", "4", "8"})
+    int parallelism;
+
+    ForkJoinPool pool;
+    List<String[]> commandLines;
+
+    @Setup
+    public void setup() {
+        pool = new ForkJoinPool(parallelism);
+        commandLines = IntStream.range(0, SIZE)
+                .mapToObj(it -> new String[]{"-l", "-p", String.valueOf(it), "-d", "/usr/logs/" + it})
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public List<ParseResult<ArgsBenchmark.MultiOptions>> parse_all() {
+        return Args.parseAll(ArgsBenchmark.MultiOptions.class, commandLines.stream(), pool);
+    }
+}
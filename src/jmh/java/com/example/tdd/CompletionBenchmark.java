@@ -0,0 +1,74 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompletionBenchmark {
+    enum Level {DEBUG, INFO, WARN, ERROR}
+
+    record ServerOptions(@Option("v") boolean verbose,
+                         @Option(value = "port", format = Format.DASH) int port,
+                         @Option(value = "level", format = Format.DASH) Level level,
+                         @Option(value = "directory", format = Format.DASH) Path directory) {
+    }
+
+    final byte[] request = "server\0-v\0--level\0W\0\n".getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer response = ByteBuffer.allocateDirect(4096);
+    Path directory;
+    CompletionDaemon daemon;
+    UnixDomainSocketAddress address;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("completion");
+        daemon = CompletionDaemon.start(directory.resolve("server.sock"), Map.of("server", ServerOptions.class));
+        address = UnixDomainSocketAddress.of(daemon.socket());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        daemon.close();
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int daemon_round_trip() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(address);
+            channel.write(ByteBuffer.wrap(request));
+            response.clear();
+            while (channel.read(response) != -1) {
+                if (!response.hasRemaining()) {
+                    break;
+                }
+            }
+            return response.position();
+        }
+    }
+
+    @Benchmark
+    public List<String> in_process() {
+        return Completion.complete(ServerOptions.class, "-v", "--level", "W");
+    }
+}
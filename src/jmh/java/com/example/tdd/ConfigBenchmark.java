@@ -0,0 +1,54 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigBenchmark {
+    private static final int ENTRIES = 10_000;
+
+    @Param({"cached", "reload"})
+    String mode;
+
+    Path config;
+    OptionSources sources;
+
+    @Setup
+    public void setup() throws IOException {
+        config = Files.createTempFile("args", ".properties");
+        Files.writeString(config, IntStream.range(0, ENTRIES)
+                .mapToObj(it -> "service.entry" + it + "=/usr/logs/" + it)
+                .collect(Collectors.joining("\n", "l=true\np=8080\nd=/usr/logs\n", "\n")));
+        sources = OptionSources.of().withEnvironment("ARGS_", Map.of("ARGS_P", "9090")).withConfig(config);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(config);
+    }
+
+    @Benchmark
+    public ArgsBenchmark.MultiOptions parse_with_sources() {
+        if (mode.equals("reload")) {
+            ConfigFile.evict(config);
+        }
+        return Args.parse(ArgsBenchmark.MultiOptions.class, sources, "-d", "/var/logs");
+    }
+}
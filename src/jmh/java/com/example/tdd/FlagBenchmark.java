@@ -0,0 +1,77 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class FlagBenchmark {
+    @Param({"10", "100", "1000", "4000"})
+    int options;
+
+    String[] flags;
+    String[] tokens;
+    String[] arguments;
+    Option[] declared;
+    FlagTrie trie;
+    OptionParser<Integer> parser = OptionParsers.unary(0, Integer::parseInt);
+
+    @Setup
+    public void setup() {
+        declared = IntStream.range(0, options).mapToObj(it -> Args.option(name(it), Format.DASH)).toArray(Option[]::new);
+        flags = IntStream.range(0, options).mapToObj(it -> OptionParsers.flag(declared[it])).toArray(String[]::new);
+        tokens = IntStream.range(0, options).mapToObj(it -> flags[(it * 7919) % options]).toArray(String[]::new);
+        arguments = IntStream.range(0, options).boxed().flatMap(it -> Stream.of(flags[it], String.valueOf(it))).toArray(String[]::new);
+        trie = FlagTrie.of(declared);
+    }
+
+    static String name(int index) {
+        StringBuilder name = new StringBuilder("option");
+        for (int i = index; i > 0; i /= 26) {
+            name.append((char) ('a' + i % 26));
+        }
+        return name.toString();
+    }
+
+    @Benchmark
+    public void linear_scan(Blackhole blackhole) {
+        for (String token : tokens) {
+            for (String flag : flags) {
+                if (flag.equals(token)) {
+                    blackhole.consume(flag);
+                    break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void trie(Blackhole blackhole) {
+        for (String token : tokens) {
+            blackhole.consume(trie.resolve(token));
+        }
+    }
+
+    @Benchmark
+    public void index(Blackhole blackhole) {
+        blackhole.consume(Args.tokenize(trie, tokens));
+    }
+
+    @Benchmark
+    public void lookup_every_option(Blackhole blackhole) {
+        List<String> tokens = Args.tokenize(trie, arguments);
+        for (Option option : declared) {
+            blackhole.consume(parser.parse(tokens, option));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class InternBenchmark {
+    private static final int RECORDS = 1_000_000;
+
+    record Options(@Option("d") String directory, @Option("g") String[] group) {
+    }
+
+    @Param({"false", "true"})
+    boolean interning;
+
+    OptionParser<Map<String, String>> environment = OptionParsers.map(Map.of(), String::valueOf, String::valueOf);
+    Option option = Args.option("e", Format.HYPHEN);
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytesPerMillion;
+    }
+
+    @Setup
+    public void setup() {
+        Args.intern(interning ? StringPool.of(4096) : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Args.intern(null);
+    }
+
+    @Setup(Level.Iteration)
+    public void collect() {
+        System.gc();
+    }
+
+    @Benchmark
+    public Object[] retain(Footprint footprint) {
+        long before = usedHeap();
+        Object[] records = new Object[RECORDS * 2];
+        for (int i = 0; i < RECORDS; i++) {
+            String service = "service" + (i % 100);
+            records[2 * i] = Args.parse(Options.class, "-d", "/usr/logs/" + (i % 10), "-g", service, "backend");
+            records[2 * i + 1] = environment.parse(Tokens.of("-e", "HOME=/home/" + service, "LANG=C.UTF-8"), option);
+        }
+        footprint.retainedBytesPerMillion = (usedHeap() - before) * 1_000_000L / RECORDS;
+        return records;
+    }
+
+    static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.example.tdd.OptionParsers.list;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListBenchmark {
+    @Param({"10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"sequential", "parallel"})
+    String mode;
+
+    Option option = Args.option("d", Format.HYPHEN);
+    OptionParser<Integer[]> integers;
+    OptionParser<String[]> strings;
+    List<String> arguments;
+
+    @Setup
+    public void setup() {
+        int threshold = mode.equals("parallel") ? 0 : Integer.MAX_VALUE;
+        integers = list(Integer[]::new, Integer::parseInt, threshold);
+        strings = list(String[]::new, String::valueOf, threshold);
+        arguments = Args.tokenize(Stream.concat(Stream.of("-d"), IntStream.range(0, size).mapToObj(String::valueOf)).toArray(String[]::new));
+    }
+
+    @Benchmark
+    public Integer[] integer_list() {
+        return integers.parse(arguments, option);
+    }
+
+    @Benchmark
+    public String[] string_list() {
+        return strings.parse(arguments, option);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class ListenerBenchmark {
+    @Param({"none", "metrics", "jfr"})
+    String listener;
+
+    @Setup
+    public void setup() {
+        Args.listen(switch (listener) {
+            case "metrics" -> new ParseMetrics();
+            case "jfr" -> new JfrParseListener();
+            default -> null;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        Args.listen(null);
+    }
+
+    @Benchmark
+    public ArgsBenchmark.MultiOptions multi_options() {
+        return Args.parse(ArgsBenchmark.MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
+    }
+}
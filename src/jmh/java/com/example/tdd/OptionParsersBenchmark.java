@@ -0,0 +1,99 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.example.tdd.OptionParsers.bool;
+import static com.example.tdd.OptionParsers.list;
+import static com.example.tdd.OptionParsers.map;
+import static com.example.tdd.OptionParsers.unary;
+
+@BenchmarkMode(Mode.Throughput)
+public class OptionParsersBenchmark {
+    private static final OptionParser<Integer> INT = unary(0, Integer::parseInt);
+    private static final OptionParser<Boolean> BOOL = bool();
+    private static final OptionParser<String[]> LIST = list(String[]::new, String::valueOf);
+    private static final OptionParser<Map<String, String>> MAP = map(Map.of(), String::valueOf, String::valueOf);
+
+    @State(Scope.Benchmark)
+    public static class ManyOptions {
+        @Param({"10", "100", "1000"})
+        int options;
+
+        Option[] present;
+        Option[] absent;
+        String[] arguments;
+
+        @Setup
+        public void setup() {
+            present = IntStream.range(0, options).mapToObj(it -> Args.option(name(it), Format.DASH)).toArray(Option[]::new);
+            absent = IntStream.range(0, options).mapToObj(it -> Args.option(name(it) + "x", Format.DASH)).toArray(Option[]::new);
+            arguments = IntStream.range(0, options)
+                    .mapToObj(it -> List.of(OptionParsers.flag(present[it]), String.valueOf(it)))
+                    .flatMap(List::stream).toArray(String[]::new);
+        }
+
+        static String name(int index) {
+            StringBuilder name = new StringBuilder("option");
+            for (int i = index; i > 0; i /= 26) {
+                name.append((char) ('a' + i % 26));
+            }
+            return name.toString();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MapEntries {
+        @Param({"10", "100", "1000"})
+        int entries;
+
+        Option option = Args.option("e", Format.HYPHEN);
+        String[] arguments;
+
+        @Setup
+        public void setup() {
+            arguments = IntStream.range(0, entries)
+                    .mapToObj(it -> List.of("-e", "KEY_" + it + "=value" + it))
+                    .flatMap(List::stream).toArray(String[]::new);
+        }
+    }
+
+    @Benchmark
+    public void unary_options(ManyOptions state, Blackhole blackhole) {
+        List<String> tokens = Args.tokenize(state.arguments);
+        for (Option option : state.present) {
+            blackhole.consume(INT.parse(tokens, option));
+        }
+    }
+
+    @Benchmark
+    public void absent_bool_options(ManyOptions state, Blackhole blackhole) {
+        List<String> tokens = Args.tokenize(state.arguments);
+        for (Option option : state.absent) {
+            blackhole.consume(BOOL.parse(tokens, option));
+        }
+    }
+
+    @Benchmark
+    public void list_options(ManyOptions state, Blackhole blackhole) {
+        List<String> tokens = Args.tokenize(state.arguments);
+        for (Option option : state.present) {
+            blackhole.consume(LIST.parse(tokens, option));
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> map_entries(MapEntries state) {
+        return MAP.parse(Args.tokenize(state.arguments), state.option);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.tdd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ThreadsBenchmark {
+    final ArgsParser<ArgsBenchmark.MultiOptions> parser = Args.parser(ArgsBenchmark.MultiOptions.class);
+
+    @Benchmark
+    @Threads(1)
+    public ArgsBenchmark.MultiOptions parse_1_thread() {
+        return parser.parse("-l", "-p", "8080", "-d", "/usr/logs");
+    }
+
+    @Benchmark
+    @Threads(2)
+    public ArgsBenchmark.MultiOptions parse_2_threads() {
+        return parser.parse("-l", "-p", "8080", "-d", "/usr/logs");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ArgsBenchmark.MultiOptions parse_4_threads() {
+        return parser.parse("-l", "-p", "8080", "-d", "/usr/logs");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ArgsBenchmark.MultiOptions parse_8_threads() {
+        return parser.parse("-l", "-p", "8080", "-d", "/usr/logs");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ArgsBenchmark.MultiOptions parse_max_threads() {
+        return parser.parse("-l", "-p", "8080", "-d", "/usr/logs");
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.tdd;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+final class ArgFile {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private String[] tokens = new String[16];
+    private int size;
+    private int[] starts = new int[4];
+    private int[] ordinals = new int[4];
+    private Path[] files = new Path[4];
+    private int ranges;
+    private Reader current;
+    private final Set<Path> opened = new HashSet<>();
+    private final List<Problem> problems;
+
+    private ArgFile(List<Problem> problems) {
+        this.problems = problems;
+    }
+
+    static boolean present(String... arguments) {
+        for (String argument : arguments) {
+            if (isArgFile(argument)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ArgFile expand(List<Problem> problems, String... arguments) {
+        ArgFile expansion = new ArgFile(problems);
+        for (String argument : arguments) {
+            if (isArgFile(argument)) {
+                expansion.read(argument, null, null);
+            } else {
+                expansion.add(argument, null);
+            }
+        }
+        return expansion;
+    }
+
+    String[] tokens() {
+        return tokens;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String location(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        int range = Arrays.binarySearch(starts, 0, ranges, index);
+        range = range < 0 ? -range - 2 : range;
+        if (files[range] == null) {
+            return null;
+        }
+        Locator locator = new Locator(ordinals[range] + index - starts[range]);
+        try (FileChannel channel = FileChannel.open(files[range], StandardOpenOption.READ)) {
+            locator.read(channel, ByteBuffer.allocate(BUFFER_SIZE));
+        } catch (IOException e) {
+            return files[range].toString();
+        }
+        return locator.location == null ? files[range].toString() : files[range] + ":" + locator.location;
+    }
+
+    private static boolean isArgFile(String argument) {
+        return argument.length() > 1 && argument.charAt(0) == '@';
+    }
+
+    private void read(String argument, Path parent, String location) {
+        Path file;
+        try {
+            Path path = Path.of(argument.substring(1));
+            file = (parent == null ? path : parent.resolveSibling(path)).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            fail(new Problem(Problem.Kind.ILLEGAL_ARG_FILE, null, argument, size, location));
+            return;
+        }
+        if (!opened.add(file)) {
+            fail(new Problem(Problem.Kind.ILLEGAL_ARG_FILE, null, argument, size, location));
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new Reader(file).read(channel);
+        } catch (IOException | UncheckedIOException e) {
+            fail(new Problem(Problem.Kind.ILLEGAL_ARG_FILE, null, argument, size, location));
+        } finally {
+            opened.remove(file);
+        }
+    }
+
+    private void fail(Problem problem) {
+        if (problems == null) {
+            throw problem.exception();
+        }
+        problems.add(problem);
+    }
+
+    private void add(String token, Reader reader) {
+        if (ranges == 0 || current != reader) {
+            if (ranges == starts.length) {
+                starts = Arrays.copyOf(starts, ranges * 2);
+                ordinals = Arrays.copyOf(ordinals, ranges * 2);
+                files = Arrays.copyOf(files, ranges * 2);
+            }
+            starts[ranges] = size;
+            ordinals[ranges] = reader == null ? 0 : reader.ordinal;
+            files[ranges++] = reader == null ? null : reader.file;
+            current = reader;
+        }
+        if (size == tokens.length) {
+            tokens = Arrays.copyOf(tokens, size * 2);
+        }
+        tokens[size++] = token;
+    }
+
+    private abstract static class Scanner extends ArgTokenizer {
+        private FileChannel channel;
+        private ByteBuffer buffer;
+        private long consumed;
+
+        void read(FileChannel channel, ByteBuffer buffer) throws IOException {
+            this.channel = channel;
+            this.buffer = buffer;
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    consumed++;
+                    accept(buffer.get());
+                }
+                buffer.clear();
+            }
+        }
+
+        long position() {
+            return consumed;
+        }
+
+        void resume(long position) throws IOException {
+            channel.position(position);
+            buffer.clear();
+            channel.read(buffer);
+            buffer.flip();
+        }
+    }
+
+    private final class Reader extends Scanner {
+        private final Path file;
+        private final String source;
+        private int ordinal;
+
+        private Reader(Path file) {
+            this.file = file;
+            this.source = file.toString();
+        }
+
+        void read(FileChannel channel) throws IOException {
+            read(channel, BUFFER.get());
+            if (quoted()) {
+                fail(new Problem(Problem.Kind.UNTERMINATED_QUOTE, null, null, size, source + ":" + tokenLine + ":" + tokenColumn));
+            } else {
+                flush();
+            }
+        }
+
+        @Override
+        void token(String value) {
+            if (isArgFile(value)) {
+                long position = position();
+                ArgFile.this.read(value, file, source + ":" + tokenLine + ":" + tokenColumn);
+                try {
+                    resume(position);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else {
+                add(value, this);
+            }
+            ordinal++;
+        }
+    }
+
+    private static final class Locator extends Scanner {
+        private int remaining;
+        private String location;
+
+        private Locator(int ordinal) {
+            this.remaining = ordinal;
+        }
+
+        @Override
+        void read(FileChannel channel, ByteBuffer buffer) throws IOException {
+            super.read(channel, buffer);
+            flush();
+        }
+
+        @Override
+        void token(String value) {
+            if (remaining-- == 0) {
+                location = tokenLine + ":" + tokenColumn;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.tdd;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+final class ArgStream extends ArgTokenizer implements Iterator<ArgStream.Record> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] EMPTY = new String[0];
+
+    private final ReadableByteChannel channel;
+    private final byte delimiter;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).flip();
+    private final List<String> record = new ArrayList<>();
+    private int records;
+    private boolean pending;
+    private boolean eof;
+    private Record next;
+
+    record Record(String[] args, Problem problem) {
+    }
+
+    ArgStream(ReadableByteChannel channel, byte delimiter) {
+        this.channel = channel;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    void token(String value) {
+        record.add(value);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = read();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Record next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Record record = next;
+        next = null;
+        return record;
+    }
+
+    private Record read() {
+        while (fill()) {
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == delimiter) {
+                    return end();
+                }
+                pending = true;
+                accept(b);
+            }
+        }
+        return pending ? end() : null;
+    }
+
+    private boolean fill() {
+        if (buffer.hasRemaining()) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        try {
+            buffer.clear();
+            eof = channel.read(buffer) == -1;
+            buffer.flip();
+            return !eof;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Record end() {
+        records++;
+        Problem problem = null;
+        if (quoted()) {
+            problem = new Problem(Problem.Kind.UNTERMINATED_QUOTE, null, null, record.size(),
+                    "record " + records + ":" + tokenLine + ":" + tokenColumn);
+        } else {
+            flush();
+        }
+        String[] args = record.toArray(EMPTY);
+        record.clear();
+        reset();
+        pending = false;
+        return new Record(args, problem);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.tdd;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+abstract class ArgTokenizer {
+    private byte[] token = new byte[64];
+    private int length;
+    private boolean inToken;
+    private byte quote;
+    private boolean escaped;
+    int line = 1;
+    private int column;
+    int tokenLine;
+    int tokenColumn;
+
+    abstract void token(String value);
+
+    boolean quoted() {
+        return quote != 0 || escaped;
+    }
+
+    void accept(byte b) {
+        if (b == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        if (escaped) {
+            escaped = false;
+            append(b);
+        } else if (quote != 0) {
+            if (b == '\\') {
+                escaped = true;
+            } else if (b == quote) {
+                quote = 0;
+            } else {
+                append(b);
+            }
+        } else if (b == '"' || b == '\'') {
+            start();
+            quote = b;
+        } else if (b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f') {
+            flush();
+        } else {
+            start();
+            append(b);
+        }
+    }
+
+    void reset() {
+        length = 0;
+        inToken = false;
+        quote = 0;
+        escaped = false;
+        line = 1;
+        column = 0;
+    }
+
+    void flush() {
+        if (!inToken) {
+            return;
+        }
+        String value = new String(token, 0, length, StandardCharsets.UTF_8);
+        inToken = false;
+        length = 0;
+        token(value);
+    }
+
+    private void start() {
+        if (!inToken) {
+            inToken = true;
+            tokenLine = line;
+            tokenColumn = column;
+        }
+    }
+
+    private void append(byte b) {
+        if (length == token.length) {
+            token = Arrays.copyOf(token, length * 2);
+        }
+        token[length++] = b;
+    }
+}
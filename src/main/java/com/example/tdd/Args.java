@@ -3,52 +3,254 @@ package com.example.tdd;
 import com.example.tdd.exceptions.IllegalOptionException;
 import com.example.tdd.exceptions.UnsupportedOptionTypeException;
 
-import java.lang.reflect.Constructor;
+import java.io.InputStream;
 import java.lang.reflect.Parameter;
-import java.util.Arrays;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static com.example.tdd.OptionParsers.bool;
-import static com.example.tdd.OptionParsers.list;
-import static com.example.tdd.OptionParsers.unary;
+public class Args {
+    private static final ClassValue<ArgsParser<?>> PLANS = new ClassValue<>() {
+        @Override
+        protected ArgsParser<?> computeValue(Class<?> optionClass) {
+            return generatedParser(optionClass)
+                    .or(() -> SchemaSnapshot.load(optionClass))
+                    .orElseGet(() -> ParsePlan.of(optionClass));
+        }
+    };
+
+    private static final ClassValue<ParsePlan> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected ParsePlan computeValue(Class<?> optionClass) {
+            return PLANS.get(optionClass) instanceof ParsePlan plan ? plan : ParsePlan.of(optionClass);
+        }
+    };
 
+    private static final ClassValue<BoundParser<?>> BOUND = new ClassValue<>() {
+        @Override
+        protected BoundParser<?> computeValue(Class<?> optionClass) {
+            return bind(optionClass, PLANS.get(optionClass));
+        }
+    };
+
+    private static volatile ParseListener listener;
+    private static volatile StringPool pool;
+    private static volatile boolean argFiles;
+
+    public static void listen(ParseListener listener) {
+        Args.listener = listener;
+    }
+
+    static ParseListener listener() {
+        return listener;
+    }
+
+    public static void intern(StringPool pool) {
+        Args.pool = pool;
+    }
+
+    static StringPool pool() {
+        return pool;
+    }
+
+    public static void expandArgFiles(boolean enabled) {
+        Args.argFiles = enabled;
+    }
+
+    static boolean argFiles() {
+        return argFiles;
+    }
+
+    public static <T> ArgsParser<T> parser(Class<T> optionClass) {
+        resolve(optionClass, null);
+        return (ArgsParser<T>) BOUND.get(optionClass);
+    }
+
+    private static <T> ArgsParser<T> resolve(Class<T> optionClass, OptionSources sources) {
+        try {
+            return (ArgsParser<T>) (sources == null ? PLANS.get(optionClass) : sources.parser(plan(optionClass)));
+        } catch (IllegalOptionException | UnsupportedOptionTypeException e) {
+            failed(listener, optionClass, e.getClass());
+            throw e;
+        }
+    }
+
+    private static <T> BoundParser<T> bind(Class<T> optionClass, ArgsParser<?> parser) {
+        return new BoundParser<>(optionClass, (ArgsParser<T>) parser);
+    }
 
-public class Args {
     public static <T> T parse(Class<T> optionClass, String... args) {
+        return parse(resolve(optionClass, null), optionClass, args);
+    }
+
+    static <T> T parse(ArgsParser<T> parser, Class<T> optionClass, String... args) {
+        ParseListener listener = Args.listener;
+        long start = listener == null ? 0 : System.nanoTime();
         try {
-            List<String> arguments = Arrays.stream(args).toList();
-            Constructor<?> constructor = optionClass.getDeclaredConstructors()[0];
-            Object[] values = Arrays.stream(constructor.getParameters()).map(it -> parseOption(arguments, it)).toArray();
-            return (T) constructor.newInstance(values);
+            T options = parser.parse(args);
+            if (listener != null) {
+                listener.parsed(optionClass, args.length, System.nanoTime() - start);
+            }
+            return options;
         } catch (IllegalOptionException | UnsupportedOptionTypeException e) {
+            failed(listener, optionClass, e.getClass());
             throw e;
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
+            failed(listener, optionClass, e.getClass());
             throw new RuntimeException(e);
         }
     }
 
-    private static Object parseOption(List<String> arguments, Parameter parameter) {
-        if (!parameter.isAnnotationPresent(Option.class)) {
-            throw new IllegalOptionException(parameter.getName());
+    public static <T> ParseResult<T> tryParse(Class<T> optionClass, String... args) {
+        return tryParse(resolve(optionClass, null), optionClass, args);
+    }
+
+    public static <T> T parse(Class<T> optionClass, OptionSources sources, String... args) {
+        return parse(resolve(optionClass, sources), optionClass, args);
+    }
+
+    public static <T> ParseResult<T> tryParse(Class<T> optionClass, OptionSources sources, String... args) {
+        return tryParse(resolve(optionClass, sources), optionClass, args);
+    }
+
+    public static <T> List<ParseResult<T>> parseAll(Class<T> optionClass, Iterable<String[]> commandLines) {
+        return parseAll(optionClass, StreamSupport.stream(commandLines.spliterator(), false), ForkJoinPool.commonPool());
+    }
+
+    public static <T> List<ParseResult<T>> parseAll(Class<T> optionClass, Stream<String[]> commandLines, ForkJoinPool pool) {
+        ArgsParser<T> parser = resolve(optionClass, null);
+        return pool.submit(() -> commandLines.parallel().map(it -> tryParse(parser, optionClass, it)).toList()).join();
+    }
+
+    public static <T> Stream<ParseResult<T>> stream(Class<T> optionClass, InputStream input) {
+        return stream(optionClass, Channels.newChannel(input), (byte) 0);
+    }
+
+    public static <T> Stream<ParseResult<T>> stream(Class<T> optionClass, ReadableByteChannel input, byte delimiter) {
+        ArgsParser<T> parser = resolve(optionClass, null);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new ArgStream(input, delimiter), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(it -> it.problem() == null ? tryParse(parser, optionClass, it.args()) : rejected(optionClass, it.problem()));
+    }
+
+    static <T> ParseResult<T> tryParse(ArgsParser<T> parser, Class<T> optionClass, String... args) {
+        ParseListener listener = Args.listener;
+        if (listener == null) {
+            return parser.tryParse(args);
+        }
+        long start = System.nanoTime();
+        ParseResult<T> result = parser.tryParse(args);
+        listener.parsed(optionClass, args.length, System.nanoTime() - start);
+        result.problems().forEach(it -> listener.failed(optionClass, it.kind().exceptionType()));
+        return result;
+    }
+
+    private static <T> ParseResult<T> rejected(Class<T> optionClass, Problem problem) {
+        failed(Args.listener, optionClass, problem.kind().exceptionType());
+        return new ParseResult<>(null, List.of(problem));
+    }
+
+    private static void failed(ParseListener listener, Class<?> optionClass, Class<? extends RuntimeException> exceptionType) {
+        if (listener != null) {
+            listener.failed(optionClass, exceptionType);
+        }
+    }
+
+    public static <T> ArgsSession<T> session(Class<T> optionClass) {
+        return new ArgsSession<>(optionClass, plan(optionClass));
+    }
+
+    static ParsePlan plan(Class<?> optionClass) {
+        return SCHEMAS.get(optionClass);
+    }
+
+    public static List<String> tokenize(String... args) {
+        return Tokens.of(args);
+    }
+
+    public static List<String> tokenize(FlagTrie trie, String... args) {
+        return Tokens.of(trie, args);
+    }
+
+    public static Option option(String value, Format format) {
+        return CompiledOption.of(value, format);
+    }
+
+    public static <T> OptionParser<T> optionParser(Class<T> type) {
+        return (OptionParser<T>) ParserRegistry.resolve(type);
+    }
+
+    public static <K, V> OptionParser<Map<K, V>> mapParser(Class<K> keyType, Class<V> valueType) {
+        return ParserRegistry.map(keyType, valueType);
+    }
+
+    public static <T> void register(Class<T> type, OptionParser<T> parser) {
+        ParserRegistry.register(type, parser);
+    }
+
+    public static <T> void register(Class<T> type, T defaultValue, Function<String, T> valueParser) {
+        ParserRegistry.register(type, defaultValue, valueParser);
+    }
+
+    public static <T> void registerSubtypes(Class<T> type, Function<Class<? extends T>, OptionParser<? extends T>> parsers) {
+        ParserRegistry.registerSubtypes(type, parsers);
+    }
+
+    public static void unregister(Class<?> type) {
+        ParserRegistry.unregister(type);
+    }
+
+    public static <T> T lazy(Class<T> optionInterface, String... args) {
+        return LazyOptions.of(optionInterface, args);
+    }
+
+    public static <T> T validate(T lazyOptions) {
+        return LazyOptions.validate(lazyOptions);
+    }
+
+    static OptionParser<?> getOptionParser(Parameter parameter) {
+        return getOptionParser(parameter.getParameterizedType(), parameter.getDeclaredAnnotation(Option.class), parameter.getName());
+    }
+
+    static OptionParser<?> getOptionParser(Type type, Option option, String name) {
+        if (option == null) {
+            throw new IllegalOptionException(name);
         }
-        Class<?> type = parameter.getType();
-        Option option = parameter.getDeclaredAnnotation(Option.class);
-        if (!PARSERS.keySet().contains(type)) {
-            throw new UnsupportedOptionTypeException(option.value(), type);
+        OptionParser<?> parser = ParserRegistry.resolve(type);
+        if (parser == null) {
+            throw new UnsupportedOptionTypeException(option.value(),
+                    type instanceof ParameterizedType parameterized ? (Class<?>) parameterized.getRawType() : (Class<?>) type);
         }
-        return getOptionParser(type).parse(arguments, option);
+        return parser;
     }
 
-    private static OptionParser getOptionParser(Class<?> type) {
-        return PARSERS.get(type);
+    static String generatedParserName(Class<?> optionClass) {
+        String name = optionClass.getSimpleName() + "ArgsParser";
+        for (Class<?> enclosing = optionClass.getEnclosingClass(); enclosing != null; enclosing = enclosing.getEnclosingClass()) {
+            name = enclosing.getSimpleName() + "_" + name;
+        }
+        String packageName = optionClass.getPackageName();
+        return packageName.isEmpty() ? name : packageName + "." + name;
     }
 
-    private static Map<Class<?>, OptionParser> PARSERS = Map.of(
-            boolean.class, bool(),
-            int.class, unary(0, Integer::parseInt),
-            String.class, unary("", String::valueOf),
-            String[].class, list(String[]::new, String::valueOf),
-            Integer[].class, list(Integer[]::new, Integer::parseInt)
-    );
+    private static Optional<ArgsParser<?>> generatedParser(Class<?> optionClass) {
+        try {
+            Class<?> parserClass = Class.forName(generatedParserName(optionClass), true, optionClass.getClassLoader());
+            if (!ArgsParser.class.isAssignableFrom(parserClass)) {
+                return Optional.empty();
+            }
+            return Optional.of((ArgsParser<?>) parserClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
 }
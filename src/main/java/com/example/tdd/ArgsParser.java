@@ -0,0 +1,9 @@
+package com.example.tdd;
+
+public interface ArgsParser<T> {
+    T parse(String... args);
+
+    default ParseResult<T> tryParse(String... args) {
+        return ParseResult.collect(args, arguments -> parse(arguments.toArray(String[]::new)));
+    }
+}
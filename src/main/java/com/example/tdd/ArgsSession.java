@@ -0,0 +1,126 @@
+package com.example.tdd;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public class ArgsSession<T> {
+    private final Class<T> optionClass;
+    private final ParsePlan plan;
+    private final Slot[] slots;
+    private final List<String> arguments = new ArrayList<>();
+    private Tokens tokens;
+    private ParseResult<T> result;
+
+    private record Slot(int[] positions, List<String> values, Object value, List<Problem> problems) {
+        boolean matches(int[] positions, List<String> values) {
+            return Arrays.equals(this.positions, positions) && Objects.equals(this.values, values);
+        }
+    }
+
+    ArgsSession(Class<T> optionClass, ParsePlan plan) {
+        this.optionClass = optionClass;
+        this.plan = plan;
+        this.slots = new Slot[plan.options().length];
+    }
+
+    public ArgsSession<T> append(String... tokens) {
+        arguments.addAll(Arrays.asList(tokens));
+        return invalidate();
+    }
+
+    public ArgsSession<T> set(int index, String token) {
+        arguments.set(index, token);
+        return invalidate();
+    }
+
+    public ArgsSession<T> truncate(int size) {
+        arguments.subList(size, arguments.size()).clear();
+        return invalidate();
+    }
+
+    public ArgsSession<T> update(String... tokens) {
+        arguments.clear();
+        return append(tokens);
+    }
+
+    public List<String> arguments() {
+        return List.copyOf(arguments);
+    }
+
+    public ParseResult<T> result() {
+        if (result == null) {
+            result = parse();
+        }
+        return result;
+    }
+
+    public boolean needsValue() {
+        return pendingType() != null;
+    }
+
+    Class<?> pendingType() {
+        Tokens tokens = tokens();
+        for (int i = tokens.size() - 1; i >= 0; i--) {
+            if (Tokens.isFlag(tokens.get(i))) {
+                int slot = plan.option(tokens.get(i));
+                return slot >= 0 && ParsePlan.arity(plan.types()[slot]) > tokens.size() - i - 1 ? plan.types()[slot] : null;
+            }
+        }
+        return null;
+    }
+
+    public List<String> remainingFlags() {
+        return remainingFlags("");
+    }
+
+    public List<String> remainingFlags(String prefix) {
+        Tokens tokens = tokens();
+        List<String> flags = new ArrayList<>();
+        for (int slot = 0; slot < slots.length; slot++) {
+            String flag = OptionParsers.flag(plan.options()[slot]);
+            if (flag.startsWith(prefix) && (tokens.positions(flag) == null || ParsePlan.arity(plan.types()[slot]) < 0)) {
+                flags.add(flag);
+            }
+        }
+        return flags;
+    }
+
+    private ArgsSession<T> invalidate() {
+        tokens = null;
+        result = null;
+        return this;
+    }
+
+    private Tokens tokens() {
+        if (tokens == null) {
+            tokens = Tokens.collecting(plan.trie(), arguments.toArray(String[]::new));
+        }
+        return tokens;
+    }
+
+    private ParseResult<T> parse() {
+        Tokens tokens = tokens();
+        List<Problem> problems = new ArrayList<>(tokens.problems());
+        Object[] values = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            Option option = plan.options()[i];
+            String flag = OptionParsers.flag(option);
+            int[] positions = tokens.positions(flag);
+            List<String> optionValues = tokens.values(flag);
+            if (slots[i] == null || !slots[i].matches(positions, optionValues)) {
+                int reported = tokens.problems().size();
+                Object value = plan.parsers()[i].parse(tokens, option);
+                List<Problem> found = List.copyOf(tokens.problems().subList(reported, tokens.problems().size()));
+                slots[i] = new Slot(positions == null ? null : positions.clone(), optionValues == null ? null : List.copyOf(optionValues), value, found);
+            }
+            values[i] = slots[i].value();
+            problems.addAll(slots[i].problems());
+        }
+        if (!problems.isEmpty()) {
+            return new ParseResult<>(null, List.copyOf(problems));
+        }
+        return new ParseResult<>(optionClass.cast(plan.newInstance(values)), List.of());
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.tdd;
+
+record BoundParser<T>(Class<T> optionClass, ArgsParser<T> parser) implements ArgsParser<T> {
+
+    @Override
+    public T parse(String... args) {
+        return Args.parse(parser, optionClass, args);
+    }
+
+    @Override
+    public ParseResult<T> tryParse(String... args) {
+        return Args.tryParse(parser, optionClass, args);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tdd;
+
+import java.lang.annotation.Annotation;
+
+record CompiledOption(String value, Format format, String flag) implements Option {
+
+    static CompiledOption of(Option option) {
+        return of(option.value(), option.format());
+    }
+
+    static CompiledOption of(String value, Format format) {
+        return new CompiledOption(value, format, OptionParsers.flag(value, format));
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+        return Option.class;
+    }
+}
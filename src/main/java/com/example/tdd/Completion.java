@@ -0,0 +1,115 @@
+package com.example.tdd;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+public class Completion {
+    public static void main(String[] args) throws ClassNotFoundException {
+        System.out.print(script(args[0], Class.forName(args[1])));
+    }
+
+    public static List<String> complete(Class<?> optionClass, String... words) {
+        String current = words.length == 0 ? "" : words[words.length - 1];
+        ArgsSession<?> session = Args.session(optionClass).update(Arrays.copyOf(words, Math.max(words.length - 1, 0)));
+        Class<?> pending = session.pendingType();
+        if (pending == null) {
+            return session.remainingFlags(current);
+        }
+        List<String> values = new ArrayList<>();
+        for (String value : values(pending)) {
+            if (value.startsWith(current)) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    public static String script(String command, Class<?> optionClass) {
+        return script(command, optionClass, null);
+    }
+
+    public static String script(String command, Class<?> optionClass, String socket) {
+        ParsePlan plan = Args.plan(optionClass);
+        String function = "_" + command.replaceAll("[^A-Za-z0-9_]", "_") + "_complete";
+        List<String> flags = new ArrayList<>();
+        StringBuilder cases = new StringBuilder();
+        for (int i = 0; i < plan.options().length; i++) {
+            String flag = OptionParsers.flag(plan.options()[i]);
+            flags.add(flag);
+            Class<?> type = plan.types()[i];
+            if (type == boolean.class) {
+                continue;
+            }
+            List<String> values = values(type);
+            cases.append("        ").append(patterns(flag, plan)).append(") ");
+            if (!values.isEmpty()) {
+                cases.append("COMPREPLY=($(compgen -W ").append(words(values)).append(" -- \"$cur\")); return ;;\n");
+            } else if (type == Path.class || type == Path[].class) {
+                cases.append("COMPREPLY=($(compgen -f -- \"$cur\")); return ;;\n");
+            } else {
+                cases.append("COMPREPLY=(); return ;;\n");
+            }
+        }
+        StringBuilder script = new StringBuilder();
+        script.append(function).append("() {\n");
+        script.append("    local cur=\"${COMP_WORDS[COMP_CWORD]}\" prev=\"${COMP_WORDS[COMP_CWORD-1]}\"\n");
+        if (socket != null) {
+            script.append("    local out\n");
+            script.append("    if [ -S ").append(quote(socket)).append(" ] && command -v nc >/dev/null && out=$( { printf '%s\\0' ")
+                    .append(quote(command)).append(" \"${COMP_WORDS[@]:1:COMP_CWORD}\"; printf '\\n'; } | nc -U ").append(quote(socket)).append(" 2>/dev/null); then\n");
+            script.append("        local IFS=$'\\n'\n");
+            script.append("        COMPREPLY=($out)\n");
+            script.append("        return\n");
+            script.append("    fi\n");
+        }
+        script.append("    case \"$prev\" in\n").append(cases).append("    esac\n");
+        script.append("    COMPREPLY=($(compgen -W ").append(words(flags)).append(" -- \"$cur\"))\n");
+        script.append("}\n");
+        script.append("complete -o default -F ").append(function).append(' ').append(quote(command)).append('\n');
+        return script.toString();
+    }
+
+    private static String patterns(String flag, ParsePlan plan) {
+        StringJoiner patterns = new StringJoiner("|");
+        for (int length = flag.startsWith("--") ? 3 : flag.length(); length <= flag.length(); length++) {
+            String prefix = flag.substring(0, length);
+            int matches = 0;
+            for (Option option : plan.options()) {
+                if (OptionParsers.flag(option).startsWith(prefix)) {
+                    matches++;
+                }
+            }
+            if (matches == 1 || length == flag.length()) {
+                patterns.add(quote(prefix));
+            }
+        }
+        return patterns.toString();
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
+    private static String words(List<String> words) {
+        StringJoiner escaped = new StringJoiner(" ");
+        for (String word : words) {
+            escaped.add(word.replaceAll("[^A-Za-z0-9_./:=+,@%-]", "\\\\$0"));
+        }
+        return quote(escaped.toString());
+    }
+
+    private static List<String> values(Class<?> type) {
+        Class<?> component = type.isArray() ? type.getComponentType() : type;
+        if (!component.isEnum()) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>();
+        for (Object constant : component.getEnumConstants()) {
+            values.add(((Enum<?>) constant).name());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.tdd;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+public final class CompletionDaemon implements AutoCloseable {
+    private static final int MAX_REQUEST = 64 * 1024;
+    private static final int WORKERS = 4;
+    static final long READ_TIMEOUT_MILLIS = 1000;
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(8 * 1024));
+
+    private final Path socket;
+    private final Map<String, Class<?>> commands;
+    private final ServerSocketChannel server;
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKERS, threads("args-completion-worker"));
+    private final ScheduledExecutorService timeouts = Executors.newSingleThreadScheduledExecutor(threads("args-completion-timeout"));
+
+    private CompletionDaemon(Path socket, Map<String, Class<?>> commands, ServerSocketChannel server) {
+        this.socket = socket;
+        this.commands = commands;
+        this.server = server;
+    }
+
+    public static CompletionDaemon start(Path socket, Map<String, Class<?>> commands) throws IOException {
+        for (Class<?> optionClass : commands.values()) {
+            Completion.complete(optionClass, "-");
+        }
+        Files.deleteIfExists(socket);
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socket));
+        CompletionDaemon daemon = new CompletionDaemon(socket, Map.copyOf(commands), server);
+        Thread thread = new Thread(daemon::serve, "args-completion");
+        thread.setDaemon(true);
+        thread.start();
+        return daemon;
+    }
+
+    public Path socket() {
+        return socket;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        workers.shutdownNow();
+        timeouts.shutdownNow();
+        Files.deleteIfExists(socket);
+    }
+
+    private void serve() {
+        while (server.isOpen()) {
+            SocketChannel client;
+            try {
+                client = server.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                continue;
+            }
+            try {
+                Future<?> timeout = timeouts.schedule(() -> close(client), READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                workers.execute(() -> handle(client, timeout));
+            } catch (RejectedExecutionException e) {
+                close(client);
+                return;
+            }
+        }
+    }
+
+    private void handle(SocketChannel client, Future<?> timeout) {
+        try (client) {
+            respond(client, answer(read(client)));
+        } catch (IOException | RuntimeException ignored) {
+        } finally {
+            timeout.cancel(false);
+        }
+    }
+
+    private static void close(SocketChannel client) {
+        try {
+            client.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static ThreadFactory threads(String name) {
+        return task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private List<String> read(SocketChannel client) throws IOException {
+        ByteBuffer buffer = BUFFER.get();
+        byte[] request = new byte[1024];
+        int length = 0;
+        buffer.clear();
+        reading:
+        while (client.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    break reading;
+                }
+                if (length == request.length) {
+                    if (length == MAX_REQUEST) {
+                        throw new IOException("Completion request too large");
+                    }
+                    request = Arrays.copyOf(request, Math.min(length * 2, MAX_REQUEST));
+                }
+                request[length++] = b;
+            }
+            buffer.clear();
+        }
+        List<String> fields = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (request[i] == 0) {
+                fields.add(new String(request, start, i - start, StandardCharsets.UTF_8));
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            fields.add(new String(request, start, length - start, StandardCharsets.UTF_8));
+        }
+        return fields;
+    }
+
+    private List<String> answer(List<String> fields) {
+        Class<?> optionClass = fields.isEmpty() ? null : commands.get(fields.get(0));
+        if (optionClass == null) {
+            return List.of();
+        }
+        return Completion.complete(optionClass, fields.subList(1, fields.size()).toArray(String[]::new));
+    }
+
+    private void respond(SocketChannel client, List<String> candidates) throws IOException {
+        ByteBuffer response = ByteBuffer.wrap(String.join("\n", candidates).concat("\n").getBytes(StandardCharsets.UTF_8));
+        while (response.hasRemaining()) {
+            client.write(response);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.tdd;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class ConfigFile {
+    private record Snapshot(FileTime modified, long size, Map<String, String> properties) {
+    }
+
+    private static final Map<Path, Snapshot> CACHE = new ConcurrentHashMap<>();
+
+    private ConfigFile() {
+    }
+
+    static Map<String, String> properties(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            CACHE.remove(path);
+            return Map.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Snapshot snapshot = CACHE.get(path);
+        if (snapshot != null && snapshot.modified().equals(attributes.lastModifiedTime()) && snapshot.size() == attributes.size()) {
+            return snapshot.properties();
+        }
+        snapshot = new Snapshot(attributes.lastModifiedTime(), attributes.size(), read(path));
+        CACHE.put(path, snapshot);
+        return snapshot.properties();
+    }
+
+    static void evict(Path file) {
+        CACHE.remove(file.toAbsolutePath().normalize());
+    }
+
+    private static Map<String, String> read(Path path) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, String> values = new HashMap<>(properties.size() * 4 / 3 + 1);
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return Map.copyOf(values);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.tdd;
+
+import java.util.Arrays;
+
+public final class FlagTrie {
+    static final int UNKNOWN = -1;
+    static final int AMBIGUOUS = -2;
+
+    private static final String PREFIX = "--";
+
+    private final Node root = new Node();
+    private final boolean abbreviations;
+    private String[] flags = new String[8];
+    private int size;
+
+    private FlagTrie(boolean abbreviations) {
+        this.abbreviations = abbreviations;
+    }
+
+    public static FlagTrie of(Option... options) {
+        FlagTrie trie = new FlagTrie(true);
+        for (Option option : options) {
+            if (option != null) {
+                trie.add(OptionParsers.flag(option));
+            }
+        }
+        return trie;
+    }
+
+    static FlagTrie exact() {
+        return new FlagTrie(false);
+    }
+
+    int size() {
+        return size;
+    }
+
+    String flag(int slot) {
+        return flags[slot];
+    }
+
+    int slot(String token) {
+        Node node = root;
+        for (int i = 0; i < token.length() && node != null; i++) {
+            node = node.child(token.charAt(i));
+        }
+        if (node != null && node.slot >= 0) {
+            return node.slot;
+        }
+        if (!abbreviations || node == null || token.length() <= PREFIX.length() || !token.startsWith(PREFIX)) {
+            return UNKNOWN;
+        }
+        return node.count == 1 ? node.unique : AMBIGUOUS;
+    }
+
+    String resolve(String token) {
+        int slot = slot(token);
+        return slot == AMBIGUOUS ? null : slot == UNKNOWN ? token : flags[slot];
+    }
+
+    int add(String flag) {
+        Node node = root;
+        for (int i = 0; i < flag.length() && node != null; i++) {
+            node = node.child(flag.charAt(i));
+        }
+        if (node != null && node.slot >= 0) {
+            return node.slot;
+        }
+        if (size == flags.length) {
+            flags = Arrays.copyOf(flags, size * 2);
+        }
+        flags[size] = flag;
+        node = root;
+        for (int i = 0; i < flag.length(); i++) {
+            node = node.childOrCreate(flag.charAt(i));
+            node.count++;
+            node.unique = size;
+        }
+        node.slot = size;
+        return size++;
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int count;
+        private int slot = UNKNOWN;
+        private int unique;
+
+        Node child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char key) {
+            Node child = child(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.tdd;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+public class JfrParseListener implements ParseListener {
+
+    @Name("com.example.tdd.Parse")
+    @Label("Args Parse")
+    @Category("Args")
+    static class ParseEvent extends Event {
+        @Label("Option Class")
+        Class<?> optionClass;
+        @Label("Tokens")
+        int tokens;
+        @Label("Parse Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long parseTime;
+    }
+
+    @Name("com.example.tdd.OptionParse")
+    @Label("Args Option Parse")
+    @Category("Args")
+    static class OptionParseEvent extends Event {
+        @Label("Option Class")
+        Class<?> optionClass;
+        @Label("Option")
+        String option;
+        @Label("Type")
+        Class<?> type;
+        @Label("Parser")
+        Class<?> parser;
+        @Label("Parse Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long parseTime;
+    }
+
+    @Name("com.example.tdd.ParseFailure")
+    @Label("Args Parse Failure")
+    @Category("Args")
+    static class ParseFailureEvent extends Event {
+        @Label("Option Class")
+        Class<?> optionClass;
+        @Label("Exception")
+        Class<?> exceptionType;
+    }
+
+    @Override
+    public void parsed(Class<?> optionClass, int tokens, long nanos) {
+        ParseEvent event = new ParseEvent();
+        if (event.isEnabled()) {
+            event.optionClass = optionClass;
+            event.tokens = tokens;
+            event.parseTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void optionParsed(Class<?> optionClass, Option option, Class<?> type, OptionParser<?> parser, long nanos) {
+        OptionParseEvent event = new OptionParseEvent();
+        if (event.isEnabled()) {
+            event.optionClass = optionClass;
+            event.option = option.value();
+            event.type = type;
+            event.parser = parser.getClass();
+            event.parseTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void failed(Class<?> optionClass, Class<? extends RuntimeException> exceptionType) {
+        ParseFailureEvent event = new ParseFailureEvent();
+        if (event.isEnabled()) {
+            event.optionClass = optionClass;
+            event.exceptionType = exceptionType;
+            event.commit();
+        }
+    }
+}
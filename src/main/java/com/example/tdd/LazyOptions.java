@@ -0,0 +1,91 @@
+package com.example.tdd;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LazyOptions implements InvocationHandler {
+    private static final ClassValue<Schema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected Schema computeValue(Class<?> optionInterface) {
+            Map<Method, Slot> slots = new HashMap<>();
+            for (Method method : optionInterface.getMethods()) {
+                if (Modifier.isAbstract(method.getModifiers())) {
+                    Option option = method.getDeclaredAnnotation(Option.class);
+                    slots.put(method, new Slot(option == null ? null : CompiledOption.of(option),
+                            Args.getOptionParser(method.getGenericReturnType(), option, method.getName())));
+                }
+            }
+            return new Schema(Map.copyOf(slots), FlagTrie.of(slots.values().stream().map(Slot::option).toArray(Option[]::new)));
+        }
+    };
+
+    private static final Object NULL = new Object() {
+        @Override
+        public String toString() {
+            return "null";
+        }
+    };
+
+    private record Slot(Option option, OptionParser<?> parser) {
+    }
+
+    private record Schema(Map<Method, Slot> slots, FlagTrie trie) {
+    }
+
+    private final Map<Method, Slot> slots;
+    private final List<String> arguments;
+    private final Map<Method, Object> values = new ConcurrentHashMap<>();
+
+    private LazyOptions(Map<Method, Slot> slots, List<String> arguments) {
+        this.slots = slots;
+        this.arguments = arguments;
+    }
+
+    static <T> T of(Class<T> optionInterface, String... args) {
+        if (!optionInterface.isInterface()) {
+            throw new IllegalArgumentException(optionInterface + " is not an interface");
+        }
+        Schema schema = SCHEMAS.get(optionInterface);
+        LazyOptions handler = new LazyOptions(schema.slots(), Tokens.of(schema.trie(), args));
+        return optionInterface.cast(Proxy.newProxyInstance(optionInterface.getClassLoader(), new Class<?>[]{optionInterface}, handler));
+    }
+
+    static <T> T validate(T options) {
+        if (!Proxy.isProxyClass(options.getClass()) || !(Proxy.getInvocationHandler(options) instanceof LazyOptions handler)) {
+            throw new IllegalArgumentException(options + " is not a lazy option object");
+        }
+        handler.slots.keySet().forEach(handler::value);
+        return options;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (slots.containsKey(method)) {
+            return value(method);
+        }
+        if (method.isDefault()) {
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> proxy.getClass().getInterfaces()[0].getName() + values;
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+
+    private Object value(Method method) {
+        Object value = values.computeIfAbsent(method, it -> {
+            Slot slot = slots.get(it);
+            Object parsed = slot.parser().parse(arguments, slot.option());
+            return parsed == null ? NULL : parsed;
+        });
+        return value == NULL ? null : value;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.tdd;
+
+final class Numbers {
+    private Numbers() {
+    }
+
+    static boolean isInt(String value) {
+        return isLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    static boolean isLong(String value) {
+        return isLong(value, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private static boolean isLong(String value, long min, long max) {
+        int length = value.length();
+        int i = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        if (i == length) {
+            return false;
+        }
+        long limit = value.charAt(0) == '-' ? min : -max;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0 || result < limit / 10) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        return true;
+    }
+
+    static boolean isDouble(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start < end && (value.charAt(start) == '-' || value.charAt(start) == '+')) {
+            start++;
+        }
+        if (value.startsWith("NaN", start) && start + 3 == end || value.startsWith("Infinity", start) && start + 8 == end) {
+            return true;
+        }
+        if (end > start && "fFdD".indexOf(value.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        boolean hex = end - start > 2 && value.charAt(start) == '0' && (value.charAt(start + 1) == 'x' || value.charAt(start + 1) == 'X');
+        int i = hex ? start + 2 : start;
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (hex ? Character.digit(c, 16) >= 0 && c < 128 : c >= '0' && c <= '9') {
+                digits++;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i == end) {
+            return !hex;
+        }
+        char exponent = value.charAt(i++);
+        if (hex ? exponent != 'p' && exponent != 'P' : exponent != 'e' && exponent != 'E') {
+            return false;
+        }
+        if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == end) {
+            return false;
+        }
+        for (; i < end; i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
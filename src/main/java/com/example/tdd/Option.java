@@ -8,7 +8,7 @@ import java.lang.annotation.Target;
 import static com.example.tdd.Format.HYPHEN;
 
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.PARAMETER)
+@Target({ElementType.PARAMETER, ElementType.METHOD})
 public @interface Option {
     String value();
     Format format() default HYPHEN;
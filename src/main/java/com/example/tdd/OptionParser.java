@@ -2,6 +2,6 @@ package com.example.tdd;
 
 import java.util.List;
 
-interface OptionParser<T> {
+public interface OptionParser<T> {
     T parse(List<String> arguments, Option option);
 }
@@ -1,95 +1,284 @@
 package com.example.tdd;
 
-import com.example.tdd.exceptions.IllegalValueException;
-import com.example.tdd.exceptions.InsufficientArgumentsException;
-import com.example.tdd.exceptions.TooManyArgumentsException;
-
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.IntFunction;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.IntStream;
 
+import static com.example.tdd.Problem.Kind.ILLEGAL_VALUE;
+import static com.example.tdd.Problem.Kind.INSUFFICIENT_ARGUMENTS;
+import static com.example.tdd.Problem.Kind.TOO_MANY_ARGUMENTS;
+
 class OptionParsers {
 
     public static <T> OptionParser<T> unary(T defaultValue, Function<String, T> valueParser) {
-        return (arguments, option) -> values(arguments, option, 1)
-                .map(it -> parseValue(option, it.get(0), valueParser))
-                .orElse(defaultValue);
+        return (arguments, option) -> {
+            Tokens tokens = Tokens.of(arguments);
+            String flag = flag(option);
+            if (!checkArity(tokens, option, flag, 1)) {
+                return defaultValue;
+            }
+            T value = parseValue(tokens, option, tokens.value(flag, 0), valueParser);
+            return value == null ? defaultValue : value;
+        };
     }
 
     public static OptionParser<Boolean> bool() {
-        return (arguments, option) -> values(arguments, option, 0).isPresent();
+        return (arguments, option) -> {
+            Tokens tokens = Tokens.of(arguments);
+            return checkArity(tokens, option, flag(option), 0);
+        };
     }
 
+    static final int PARALLEL_THRESHOLD = Integer.getInteger("com.example.tdd.parallelThreshold", 100_000);
+
     public static <T> OptionParser<T[]> list(IntFunction<T[]> generator, Function<String, T> valueParser) {
-        return (arguments, option) -> values(arguments, option)
-                .map(it -> it.stream().map(value -> parseValue(option, value, valueParser)).toArray(generator))
-                .orElse(generator.apply(0));
+        return list(generator, valueParser, PARALLEL_THRESHOLD);
+    }
+
+    public static <T> OptionParser<T[]> list(IntFunction<T[]> generator, Function<String, T> valueParser, int parallelThreshold) {
+        return (arguments, option) -> {
+            List<String> values = values(arguments, option);
+            if (values == null) {
+                return generator.apply(0);
+            }
+            return values.size() < parallelThreshold
+                    ? parseValues(arguments, option, values, generator, valueParser)
+                    : parseValuesInParallel(arguments, option, values, generator, valueParser);
+        };
+    }
+
+    public static OptionParser<int[]> intList(ToIntFunction<String> valueParser) {
+        return intList(value -> true, valueParser);
+    }
+
+    public static OptionParser<int[]> intList(Predicate<String> valid, ToIntFunction<String> valueParser) {
+        return (arguments, option) -> {
+            List<String> values = values(arguments, option);
+            if (values == null) {
+                return new int[0];
+            }
+            int[] result = new int[values.size()];
+            for (int i = 0; i < result.length; i++) {
+                String value = values.get(i);
+                if (!valid.test(value)) {
+                    fail(arguments, ILLEGAL_VALUE, option, value);
+                    continue;
+                }
+                try {
+                    result[i] = valueParser.applyAsInt(value);
+                } catch (Exception e) {
+                    fail(arguments, ILLEGAL_VALUE, option, value);
+                }
+            }
+            return result;
+        };
+    }
+
+    public static OptionParser<long[]> longList(ToLongFunction<String> valueParser) {
+        return longList(value -> true, valueParser);
+    }
+
+    public static OptionParser<long[]> longList(Predicate<String> valid, ToLongFunction<String> valueParser) {
+        return (arguments, option) -> {
+            List<String> values = values(arguments, option);
+            if (values == null) {
+                return new long[0];
+            }
+            long[] result = new long[values.size()];
+            for (int i = 0; i < result.length; i++) {
+                String value = values.get(i);
+                if (!valid.test(value)) {
+                    fail(arguments, ILLEGAL_VALUE, option, value);
+                    continue;
+                }
+                try {
+                    result[i] = valueParser.applyAsLong(value);
+                } catch (Exception e) {
+                    fail(arguments, ILLEGAL_VALUE, option, value);
+                }
+            }
+            return result;
+        };
+    }
+
+    public static OptionParser<double[]> doubleList(ToDoubleFunction<String> valueParser) {
+        return doubleList(value -> true, valueParser);
+    }
+
+    public static OptionParser<double[]> doubleList(Predicate<String> valid, ToDoubleFunction<String> valueParser) {
+        return (arguments, option) -> {
+            List<String> values = values(arguments, option);
+            if (values == null) {
+                return new double[0];
+            }
+            double[] result = new double[values.size()];
+            for (int i = 0; i < result.length; i++) {
+                String value = values.get(i);
+                if (!valid.test(value)) {
+                    fail(arguments, ILLEGAL_VALUE, option, value);
+                    continue;
+                }
+                try {
+                    result[i] = valueParser.applyAsDouble(value);
+                } catch (Exception e) {
+                    fail(arguments, ILLEGAL_VALUE, option, value);
+                }
+            }
+            return result;
+        };
     }
 
     public static <K, V> OptionParser<Map<K, V>> map(Map<K, V> defaultValue, Function<String, K> keyParser, Function<String, V> valueParser) {
-        return (arguments, option) -> values(arguments, option)
-                .map(it -> parseValue(option, it, keyParser, valueParser))
-                .orElse(defaultValue);
-    }
-
-    private static Optional<List<String>> values(List<String> arguments, Option option) {
-        int[] indexes = IntStream.range(0, arguments.size())
-                .filter(it -> {
-                    String flag = FORMATS.get(option.format()).concat(option.value());
-                    return flag.equals(arguments.get(it));
-                }).toArray();
-        if (indexes.length == 0) {
-            return Optional.empty();
+        return (arguments, option) -> {
+            List<String> values = values(arguments, option);
+            return values == null ? defaultValue : parseValue(arguments, option, values, keyParser, valueParser);
+        };
+    }
+
+    static <T> Function<String, T> checked(Predicate<String> valid, Function<String, T> valueParser) {
+        return new Checked<>(valid, valueParser);
+    }
+
+    private record Checked<T>(Predicate<String> valid, Function<String, T> parser) implements Function<String, T> {
+        @Override
+        public T apply(String value) {
+            return parser.apply(value);
         }
-        return Optional.of(Arrays.stream(indexes)
-                .mapToObj(index -> values(arguments, index))
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList()));
     }
 
-    private static final Map<Format, String> FORMATS = Map.of(Format.DASH, "--",
-            Format.HYPHEN, "-");
+    private static boolean valid(Function<String, ?> valueParser, String value) {
+        return !(valueParser instanceof Checked<?> checked) || checked.valid().test(value);
+    }
 
-    private static Optional<List<String>> values(List<String> arguments, Option option, int expectedSize) {
-        return values(arguments, option).map(it -> checkSize(option, expectedSize, it));
+    private static List<String> values(List<String> arguments, Option option) {
+        return Tokens.of(arguments).values(flag(option));
     }
 
-    private static List<String> checkSize(Option option, int expectedSize, List<String> values) {
-        if (values.size() < expectedSize) {
-            throw new InsufficientArgumentsException(option.value());
+    static String flag(Option option) {
+        if (option instanceof CompiledOption compiled) {
+            return compiled.flag();
         }
-        if (values.size() > expectedSize) {
-            throw new TooManyArgumentsException(option.value());
+        return flag(option.value(), option.format());
+    }
+
+    static String flag(String value, Format format) {
+        return FORMATS.get(format).concat(value);
+    }
+
+    private static final Map<Format, String> FORMATS = Map.of(Format.DASH, "--",
+            Format.HYPHEN, "-");
+
+    private static boolean checkArity(Tokens tokens, Option option, String flag, int expectedSize) {
+        int size = tokens.arity(flag);
+        if (size < 0) {
+            return false;
+        }
+        if (size < expectedSize) {
+            fail(tokens, INSUFFICIENT_ARGUMENTS, option, null);
+            return false;
         }
-        return values;
+        if (size > expectedSize) {
+            fail(tokens, TOO_MANY_ARGUMENTS, option, tokens.value(flag, expectedSize));
+            return false;
+        }
+        return true;
     }
 
-    private static <T> T parseValue(Option option, String value, Function<String, T> valueParser) {
+    private static <T> T parseValue(List<String> arguments, Option option, String value, Function<String, T> valueParser) {
+        if (!valid(valueParser, value)) {
+            return fail(arguments, ILLEGAL_VALUE, option, value);
+        }
         try {
-            return valueParser.apply(value);
+            return intern(pool(arguments), valueParser.apply(value));
         } catch (Exception e) {
-            throw new IllegalValueException(option.value(), value);
+            return fail(arguments, ILLEGAL_VALUE, option, value);
+        }
+    }
+
+    private static <T> T[] parseValues(List<String> arguments, Option option, List<String> values, IntFunction<T[]> generator, Function<String, T> valueParser) {
+        T[] result = generator.apply(values.size());
+        for (int i = 0; i < result.length; i++) {
+            result[i] = parseValue(arguments, option, values.get(i), valueParser);
         }
+        return result;
     }
 
-    private static <K, V> Map<K, V> parseValue(Option option, List<String> values, Function<String, K> keyParser, Function<String, V> valueParser) {
-        Map<K, V> map = new HashMap<>();
-        values.forEach(value -> {
+    private static <T> T[] parseValuesInParallel(List<String> arguments, Option option, List<String> values, IntFunction<T[]> generator, Function<String, T> valueParser) {
+        T[] result = generator.apply(values.size());
+        StringPool pool = pool(arguments);
+        AtomicInteger firstFailure = new AtomicInteger(values.size());
+        IntStream.range(0, values.size()).parallel().forEach(index -> {
+            if (index > firstFailure.get()) {
+                return;
+            }
+            if (!valid(valueParser, values.get(index))) {
+                firstFailure.accumulateAndGet(index, Math::min);
+                return;
+            }
             try {
-                String[] split = value.split("=");
-                map.put(keyParser.apply(split[0]), valueParser.apply(split[1]));
+                result[index] = intern(pool, valueParser.apply(values.get(index)));
             } catch (Exception e) {
-                throw new IllegalValueException(option.value(), value);
+                firstFailure.accumulateAndGet(index, Math::min);
             }
         });
-        return map;
+        if (firstFailure.get() == values.size()) {
+            return result;
+        }
+        if (arguments instanceof Tokens tokens && tokens.collecting()) {
+            return parseValues(arguments, option, values, generator, valueParser);
+        }
+        return fail(arguments, ILLEGAL_VALUE, option, values.get(firstFailure.get()));
+    }
+
+    private static <K, V> Map<K, V> parseValue(List<String> arguments, Option option, List<String> values, Function<String, K> keyParser, Function<String, V> valueParser) {
+        Map<K, V> map = new HashMap<>(values.size() * 4 / 3 + 1);
+        StringPool pool = pool(arguments);
+        for (String value : values) {
+            int separator = value.indexOf('=');
+            if (separator < 0) {
+                fail(arguments, ILLEGAL_VALUE, option, value);
+                continue;
+            }
+            String key = value.substring(0, separator);
+            String entry = value.substring(separator + 1);
+            if (!valid(keyParser, key) || !valid(valueParser, entry)) {
+                fail(arguments, ILLEGAL_VALUE, option, value);
+                continue;
+            }
+            try {
+                map.put(intern(pool, keyParser.apply(key)), intern(pool, valueParser.apply(entry)));
+            } catch (Exception e) {
+                fail(arguments, ILLEGAL_VALUE, option, value);
+            }
+        }
+        return pool == null ? map : Map.copyOf(map);
+    }
+
+    private static StringPool pool(List<String> arguments) {
+        return arguments instanceof Tokens tokens ? tokens.pool() : null;
+    }
+
+    private static <T> T intern(StringPool pool, T value) {
+        if (pool != null && value instanceof String string) {
+            return (T) pool.intern(string);
+        }
+        return value;
     }
 
-    private static List<String> values(List<String> arguments, int index) {
-        return arguments.subList(index + 1, IntStream.range(index + 1, arguments.size())
-                .filter(it -> arguments.get(it).matches("^-[-]?[a-zA-Z]+$"))
-                .findFirst().orElse(arguments.size()));
+    private static <T> T fail(List<String> arguments, Problem.Kind kind, Option option, String value) {
+        if (!(arguments instanceof Tokens tokens)) {
+            throw new Problem(kind, option.value(), value, -1).exception();
+        }
+        if (!tokens.collecting()) {
+            throw tokens.problem(kind, option, value).exception();
+        }
+        tokens.report(kind, option, value);
+        return null;
     }
 }
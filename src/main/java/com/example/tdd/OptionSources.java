@@ -0,0 +1,103 @@
+package com.example.tdd;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public record OptionSources(String prefix, Map<String, String> environment, Path config) {
+
+    public static OptionSources of() {
+        return new OptionSources("", Map.of(), null);
+    }
+
+    public OptionSources withEnvironment(String prefix) {
+        return withEnvironment(prefix, System.getenv());
+    }
+
+    public OptionSources withEnvironment(String prefix, Map<String, String> environment) {
+        return new OptionSources(prefix, environment, config);
+    }
+
+    public OptionSources withConfig(Path config) {
+        return new OptionSources(prefix, environment, config);
+    }
+
+    public String variable(Option option) {
+        StringBuilder name = new StringBuilder(prefix);
+        for (char c : option.value().toUpperCase(Locale.ROOT).toCharArray()) {
+            name.append(c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' ? c : '_');
+        }
+        return name.toString();
+    }
+
+    ArgsParser<Object> parser(ParsePlan plan) {
+        return new Layered(this, plan);
+    }
+
+    private Tokens[] layered(ParsePlan plan, Tokens tokens) {
+        Map<String, String> properties = config == null ? Map.of() : ConfigFile.properties(config);
+        Tokens[] layered = null;
+        for (int i = 0; i < plan.options().length; i++) {
+            Option option = plan.options()[i];
+            String flag = OptionParsers.flag(option);
+            if (tokens.arity(flag) >= 0) {
+                continue;
+            }
+            String variable = environment.isEmpty() ? null : variable(option);
+            String value = variable == null ? null : environment.get(variable);
+            String location = "$" + variable;
+            if (value == null) {
+                value = properties.get(option.value());
+                location = config + "#" + option.value();
+            }
+            List<String> values = value == null ? null : values(plan.types()[i], value);
+            if (values != null) {
+                if (layered == null) {
+                    layered = new Tokens[plan.options().length];
+                }
+                layered[i] = Tokens.literal(location, tokens.problems(), flag, values);
+            }
+        }
+        return layered;
+    }
+
+    private static List<String> values(Class<?> type, String value) {
+        if (type == boolean.class) {
+            return Boolean.parseBoolean(value.trim()) ? List.of() : null;
+        }
+        if (!type.isArray() && !Map.class.isAssignableFrom(type)) {
+            return List.of(value);
+        }
+        List<String> values = new ArrayList<>();
+        ArgTokenizer tokenizer = new ArgTokenizer() {
+            @Override
+            void token(String token) {
+                values.add(token);
+            }
+        };
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            tokenizer.accept(b);
+        }
+        tokenizer.flush();
+        return values;
+    }
+
+    private record Layered(OptionSources sources, ParsePlan plan) implements ArgsParser<Object> {
+        @Override
+        public Object parse(String... args) {
+            return parse(Tokens.of(plan.trie(), args));
+        }
+
+        @Override
+        public ParseResult<Object> tryParse(String... args) {
+            return ParseResult.collect(args, plan.trie(), it -> parse((Tokens) it));
+        }
+
+        private Object parse(Tokens tokens) {
+            return plan.parse(tokens, sources.layered(plan, tokens));
+        }
+    }
+}
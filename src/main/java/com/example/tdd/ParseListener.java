@@ -0,0 +1,12 @@
+package com.example.tdd;
+
+public interface ParseListener {
+    default void parsed(Class<?> optionClass, int tokens, long nanos) {
+    }
+
+    default void optionParsed(Class<?> optionClass, Option option, Class<?> type, OptionParser<?> parser, long nanos) {
+    }
+
+    default void failed(Class<?> optionClass, Class<? extends RuntimeException> exceptionType) {
+    }
+}
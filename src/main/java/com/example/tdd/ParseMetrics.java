@@ -0,0 +1,57 @@
+package com.example.tdd;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ParseMetrics implements ParseListener {
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final ClassValue<Map<String, LongAdder>> optionNanos = new ClassValue<>() {
+        @Override
+        protected Map<String, LongAdder> computeValue(Class<?> optionClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private final Map<Class<? extends RuntimeException>, LongAdder> failures = new ConcurrentHashMap<>();
+
+    @Override
+    public void parsed(Class<?> optionClass, int tokens, long nanos) {
+        this.parses.increment();
+        this.tokens.add(tokens);
+        this.nanos.add(nanos);
+    }
+
+    @Override
+    public void optionParsed(Class<?> optionClass, Option option, Class<?> type, OptionParser<?> parser, long nanos) {
+        optionNanos.get(optionClass).computeIfAbsent(option.value(), it -> new LongAdder()).add(nanos);
+    }
+
+    @Override
+    public void failed(Class<?> optionClass, Class<? extends RuntimeException> exceptionType) {
+        failures.computeIfAbsent(exceptionType, it -> new LongAdder()).increment();
+    }
+
+    public long parses() {
+        return parses.sum();
+    }
+
+    public long tokens() {
+        return tokens.sum();
+    }
+
+    public long nanos() {
+        return nanos.sum();
+    }
+
+    public long optionNanos(Class<?> optionClass, String option) {
+        LongAdder adder = optionNanos.get(optionClass).get(option);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public long failures(Class<? extends RuntimeException> exceptionType) {
+        LongAdder adder = failures.get(exceptionType);
+        return adder == null ? 0 : adder.sum();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.tdd;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import java.util.Map;
+
+record ParsePlan(Class<?> optionClass, MethodHandle constructor, Option[] options, Class<?>[] types,
+                 OptionParser<?>[] parsers, FlagTrie trie) implements ArgsParser<Object> {
+
+    static ParsePlan of(Class<?> optionClass) {
+        Constructor<?> constructor = optionClass.getDeclaredConstructors()[0];
+        Parameter[] parameters = constructor.getParameters();
+        Option[] options = new Option[parameters.length];
+        Class<?>[] types = new Class<?>[parameters.length];
+        OptionParser<?>[] parsers = new OptionParser<?>[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parsers[i] = Args.getOptionParser(parameters[i]);
+            options[i] = CompiledOption.of(parameters[i].getDeclaredAnnotation(Option.class));
+            types[i] = parameters[i].getType();
+        }
+        return of(optionClass, constructor, options, types, parsers);
+    }
+
+    static ParsePlan of(Class<?> optionClass, Constructor<?> constructor, Option[] options, Class<?>[] types, OptionParser<?>[] parsers) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, types.length);
+            return new ParsePlan(optionClass, handle, options, types, parsers, FlagTrie.of(options));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Object parse(String... args) {
+        return parse(Tokens.of(trie, args));
+    }
+
+    @Override
+    public ParseResult<Object> tryParse(String... args) {
+        return ParseResult.collect(args, trie, this::parse);
+    }
+
+    private Object parse(List<String> arguments) {
+        return parse(arguments, null);
+    }
+
+    Object parse(List<String> arguments, Tokens[] layered) {
+        ParseListener listener = Args.listener();
+        Object[] values = new Object[parsers.length];
+        for (int i = 0; i < parsers.length; i++) {
+            List<String> source = layered == null || layered[i] == null ? arguments : layered[i];
+            if (listener == null) {
+                values[i] = parsers[i].parse(source, options[i]);
+            } else {
+                long start = System.nanoTime();
+                values[i] = parsers[i].parse(source, options[i]);
+                listener.optionParsed(optionClass, options[i], types[i], parsers[i], System.nanoTime() - start);
+            }
+        }
+        return newInstance(values);
+    }
+
+    int option(String token) {
+        String flag = trie.resolve(token);
+        for (int i = 0; i < options.length; i++) {
+            if (OptionParsers.flag(options[i]).equals(flag)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int arity(Class<?> type) {
+        if (type == boolean.class) {
+            return 0;
+        }
+        return type.isArray() || Map.class.isAssignableFrom(type) ? -1 : 1;
+    }
+
+    Object newInstance(Object[] values) {
+        try {
+            return constructor.invoke(values);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
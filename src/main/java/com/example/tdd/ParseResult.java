@@ -0,0 +1,30 @@
+package com.example.tdd;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record ParseResult<T>(T value, List<Problem> problems) {
+
+    public boolean isSuccess() {
+        return problems.isEmpty();
+    }
+
+    public static <T> ParseResult<T> collect(String[] args, Function<List<String>, T> parser) {
+        return collect(args, null, parser);
+    }
+
+    public static <T> ParseResult<T> collect(String[] args, FlagTrie trie, Function<List<String>, T> parser) {
+        Tokens tokens = Tokens.collecting(trie, args);
+        T value;
+        try {
+            value = parser.apply(tokens);
+        } catch (RuntimeException e) {
+            tokens.problems().add(Problem.of(e));
+            return new ParseResult<>(null, List.copyOf(tokens.problems()));
+        }
+        if (!tokens.problems().isEmpty()) {
+            return new ParseResult<>(null, List.copyOf(tokens.problems()));
+        }
+        return new ParseResult<>(value, List.of());
+    }
+}
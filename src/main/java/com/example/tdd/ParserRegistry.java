@@ -0,0 +1,180 @@
+package com.example.tdd;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.example.tdd.OptionParsers.bool;
+import static com.example.tdd.OptionParsers.checked;
+import static com.example.tdd.OptionParsers.doubleList;
+import static com.example.tdd.OptionParsers.intList;
+import static com.example.tdd.OptionParsers.list;
+import static com.example.tdd.OptionParsers.longList;
+
+final class ParserRegistry {
+    private record Value<T>(T defaultValue, Function<String, T> parser) {
+    }
+
+    private static final Map<Class<?>, OptionParser<?>> BUILT_IN_PARSERS = Map.of(
+            boolean.class, bool(),
+            String[].class, list(String[]::new, String::valueOf),
+            Integer[].class, list(Integer[]::new, checked(Numbers::isInt, Integer::valueOf)),
+            int[].class, intList(Numbers::isInt, Integer::parseInt),
+            long[].class, longList(Numbers::isLong, Long::parseLong),
+            double[].class, doubleList(Numbers::isDouble, Double::parseDouble)
+    );
+
+    private static final Map<Class<?>, Value<?>> BUILT_IN_VALUES = Map.of(
+            int.class, new Value<>(0, checked(Numbers::isInt, Integer::valueOf)),
+            Integer.class, new Value<>(null, checked(Numbers::isInt, Integer::valueOf)),
+            long.class, new Value<>(0L, checked(Numbers::isLong, Long::valueOf)),
+            Long.class, new Value<>(null, checked(Numbers::isLong, Long::valueOf)),
+            double.class, new Value<>(0.0, checked(Numbers::isDouble, Double::valueOf)),
+            Double.class, new Value<>(null, checked(Numbers::isDouble, Double::valueOf)),
+            String.class, new Value<>("", String::valueOf),
+            Path.class, new Value<>(null, Path::of),
+            Duration.class, new Value<>(null, Duration::parse)
+    );
+
+    private static final Map<Class<?>, OptionParser<?>> PARSERS = new ConcurrentHashMap<>(BUILT_IN_PARSERS);
+    private static final Map<Class<?>, Value<?>> VALUES = new ConcurrentHashMap<>(BUILT_IN_VALUES);
+    private static final Map<Class<?>, Function<Class<?>, OptionParser<?>>> SUBTYPES = new ConcurrentHashMap<>();
+
+    private static volatile ClassValue<Optional<OptionParser<?>>> resolved = cache();
+
+    private ParserRegistry() {
+    }
+
+    static <T> void register(Class<T> type, OptionParser<T> parser) {
+        PARSERS.put(type, parser);
+        resolved = cache();
+    }
+
+    static <T> void register(Class<T> type, T defaultValue, Function<String, T> parser) {
+        PARSERS.remove(type);
+        VALUES.put(type, new Value<>(defaultValue, parser));
+        resolved = cache();
+    }
+
+    static <T> void registerSubtypes(Class<T> type, Function<Class<? extends T>, OptionParser<? extends T>> parsers) {
+        SUBTYPES.put(type, subtype -> parsers.apply(subtype.asSubclass(type)));
+        resolved = cache();
+    }
+
+    static void unregister(Class<?> type) {
+        PARSERS.remove(type);
+        VALUES.remove(type);
+        SUBTYPES.remove(type);
+        if (BUILT_IN_PARSERS.containsKey(type)) {
+            PARSERS.put(type, BUILT_IN_PARSERS.get(type));
+        }
+        if (BUILT_IN_VALUES.containsKey(type)) {
+            VALUES.put(type, BUILT_IN_VALUES.get(type));
+        }
+        resolved = cache();
+    }
+
+    static OptionParser<?> resolve(Type type) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == Map.class) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (arguments[0] instanceof Class<?> key && arguments[1] instanceof Class<?> value) {
+                return map(key, value);
+            }
+            return null;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return resolve(parameterized.getRawType());
+        }
+        return type instanceof Class<?> raw ? resolved.get(raw).orElse(null) : null;
+    }
+
+    static <K, V> OptionParser<Map<K, V>> map(Class<K> key, Class<V> value) {
+        Value<K> keys = value(key);
+        Value<V> values = value(value);
+        if (keys == null || values == null) {
+            return null;
+        }
+        return OptionParsers.map(Map.of(), keys.parser(), values.parser());
+    }
+
+    private static ClassValue<Optional<OptionParser<?>>> cache() {
+        return new ClassValue<>() {
+            @Override
+            protected Optional<OptionParser<?>> computeValue(Class<?> type) {
+                return Optional.ofNullable(lookup(type));
+            }
+        };
+    }
+
+    private static OptionParser<?> lookup(Class<?> type) {
+        OptionParser<?> parser = PARSERS.get(type);
+        if (parser != null) {
+            return parser;
+        }
+        Value<?> value = value(type);
+        if (value != null) {
+            return unary(value);
+        }
+        if (type.isArray() && value(type.getComponentType()) != null) {
+            return array(type.getComponentType(), value(type.getComponentType()));
+        }
+        if (type == Map.class) {
+            return map(String.class, String.class);
+        }
+        for (Class<?> supertype : supertypes(type)) {
+            Function<Class<?>, OptionParser<?>> parsers = SUBTYPES.get(supertype);
+            OptionParser<?> subtype = parsers == null ? null : parsers.apply(type);
+            if (subtype != null) {
+                return subtype;
+            }
+        }
+        return null;
+    }
+
+    private static <T> OptionParser<T> unary(Value<T> value) {
+        return OptionParsers.unary(value.defaultValue(), value.parser());
+    }
+
+    private static <T> OptionParser<T[]> array(Class<?> component, Value<T> value) {
+        return list(size -> (T[]) Array.newInstance(component, size), value.parser());
+    }
+
+    private static <T> Value<T> value(Class<T> type) {
+        Value<T> value = (Value<T>) VALUES.get(type);
+        if (value != null) {
+            return value;
+        }
+        if (type.isEnum()) {
+            return new Value<>(null, it -> (T) Enum.valueOf(type.asSubclass(Enum.class), it));
+        }
+        return null;
+    }
+
+    private static Set<Class<?>> supertypes(Class<?> type) {
+        Set<Class<?>> supertypes = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (current.getSuperclass() != null && supertypes.add(current.getSuperclass())) {
+                pending.add(current.getSuperclass());
+            }
+            for (Class<?> implemented : current.getInterfaces()) {
+                if (supertypes.add(implemented)) {
+                    pending.add(implemented);
+                }
+            }
+        }
+        return supertypes;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.AmbiguousOptionException;
+import com.example.tdd.exceptions.IllegalArgFileException;
+import com.example.tdd.exceptions.IllegalValueException;
+import com.example.tdd.exceptions.InsufficientArgumentsException;
+import com.example.tdd.exceptions.TooManyArgumentsException;
+import com.example.tdd.exceptions.UnterminatedQuoteException;
+
+public record Problem(Kind kind, String option, String value, int position, String location) {
+    public enum Kind {
+        ILLEGAL_VALUE(IllegalValueException.class),
+        INSUFFICIENT_ARGUMENTS(InsufficientArgumentsException.class),
+        TOO_MANY_ARGUMENTS(TooManyArgumentsException.class),
+        AMBIGUOUS_OPTION(AmbiguousOptionException.class),
+        ILLEGAL_ARG_FILE(IllegalArgFileException.class),
+        UNTERMINATED_QUOTE(UnterminatedQuoteException.class);
+
+        private final Class<? extends RuntimeException> exceptionType;
+
+        Kind(Class<? extends RuntimeException> exceptionType) {
+            this.exceptionType = exceptionType;
+        }
+
+        public Class<? extends RuntimeException> exceptionType() {
+            return exceptionType;
+        }
+    }
+
+    public Problem(Kind kind, String option, String value, int position) {
+        this(kind, option, value, position, null);
+    }
+
+    public RuntimeException exception() {
+        return switch (kind) {
+            case ILLEGAL_VALUE -> new IllegalValueException(option, value, location);
+            case INSUFFICIENT_ARGUMENTS -> new InsufficientArgumentsException(option);
+            case TOO_MANY_ARGUMENTS -> new TooManyArgumentsException(option);
+            case AMBIGUOUS_OPTION -> new AmbiguousOptionException(option);
+            case ILLEGAL_ARG_FILE -> new IllegalArgFileException(value, location);
+            case UNTERMINATED_QUOTE -> new UnterminatedQuoteException(location);
+        };
+    }
+
+    static Problem of(RuntimeException e) {
+        if (e instanceof IllegalValueException illegal) {
+            return new Problem(Kind.ILLEGAL_VALUE, illegal.getOption(), illegal.getValue(), -1, illegal.getLocation());
+        }
+        if (e instanceof InsufficientArgumentsException insufficient) {
+            return new Problem(Kind.INSUFFICIENT_ARGUMENTS, insufficient.getOption(), null, -1);
+        }
+        if (e instanceof TooManyArgumentsException tooMany) {
+            return new Problem(Kind.TOO_MANY_ARGUMENTS, tooMany.getOption(), null, -1);
+        }
+        if (e instanceof AmbiguousOptionException ambiguous) {
+            return new Problem(Kind.AMBIGUOUS_OPTION, ambiguous.getOption(), null, -1);
+        }
+        if (e instanceof IllegalArgFileException argFile) {
+            return new Problem(Kind.ILLEGAL_ARG_FILE, null, argFile.getPath(), -1, argFile.getLocation());
+        }
+        if (e instanceof UnterminatedQuoteException quote) {
+            return new Problem(Kind.UNTERMINATED_QUOTE, null, null, -1, quote.getLocation());
+        }
+        throw e;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.tdd;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+final class SchemaSnapshot {
+    static final String DIRECTORY = "META-INF/tdd/";
+    private static final int MAGIC = 0x54444431;
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+            "boolean", boolean.class,
+            "byte", byte.class,
+            "char", char.class,
+            "short", short.class,
+            "int", int.class,
+            "long", long.class,
+            "float", float.class,
+            "double", double.class
+    );
+
+    private SchemaSnapshot() {
+    }
+
+    static String resource(Class<?> optionClass) {
+        return DIRECTORY + optionClass.getName() + ".schema";
+    }
+
+    static Optional<ParsePlan> load(Class<?> optionClass) {
+        ClassLoader loader = optionClass.getClassLoader();
+        if (loader == null) {
+            return Optional.empty();
+        }
+        try (InputStream input = loader.getResourceAsStream(resource(optionClass))) {
+            return input == null ? Optional.empty() : read(optionClass, input.readAllBytes());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    static byte[] write(ParsePlan plan) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(MAGIC);
+            output.writeLong(checksum(plan.optionClass()));
+            output.writeShort(plan.options().length);
+            for (int i = 0; i < plan.options().length; i++) {
+                output.writeUTF(plan.options()[i].value());
+                output.writeByte(plan.options()[i].format().ordinal());
+                output.writeUTF(plan.types()[i].getName());
+            }
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Optional<ParsePlan> read(Class<?> optionClass, byte[] snapshot) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(snapshot));
+            if (input.readInt() != MAGIC || input.readLong() != checksum(optionClass)) {
+                return Optional.empty();
+            }
+            int size = input.readUnsignedShort();
+            Option[] options = new Option[size];
+            Class<?>[] types = new Class<?>[size];
+            for (int i = 0; i < size; i++) {
+                options[i] = CompiledOption.of(input.readUTF(), Format.values()[input.readUnsignedByte()]);
+                types[i] = type(input.readUTF(), optionClass.getClassLoader());
+            }
+            Constructor<?> constructor = optionClass.getDeclaredConstructor(types);
+            Type[] genericTypes = constructor.getGenericParameterTypes();
+            OptionParser<?>[] parsers = new OptionParser<?>[size];
+            for (int i = 0; i < size; i++) {
+                parsers[i] = ParserRegistry.resolve(genericTypes[i]);
+                if (parsers[i] == null) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(ParsePlan.of(optionClass, constructor, options, types, parsers));
+        } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Class<?> type(String name, ClassLoader loader) throws ClassNotFoundException {
+        Class<?> primitive = PRIMITIVES.get(name);
+        return primitive != null ? primitive : Class.forName(name, false, loader);
+    }
+
+    private static long checksum(Class<?> optionClass) throws IOException {
+        String name = optionClass.getName().replace('.', '/') + ".class";
+        try (InputStream input = optionClass.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) {
+                return 0;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(input.readAllBytes());
+            return crc.getValue();
+        }
+    }
+}
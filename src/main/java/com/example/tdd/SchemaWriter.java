@@ -0,0 +1,48 @@
+package com.example.tdd;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class SchemaWriter {
+    public static void main(String[] args) throws IOException {
+        Path classes = Path.of(args[0]);
+        Path output = Path.of(args[1]).resolve(SchemaSnapshot.DIRECTORY);
+        Files.createDirectories(output);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(classes)) {
+            files = walk.filter(it -> it.toString().endsWith(".class")).toList();
+        }
+        for (Path file : files) {
+            String name = classes.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+            write(name.substring(0, name.length() - ".class".length()), output);
+        }
+    }
+
+    private static void write(String className, Path output) throws IOException {
+        Class<?> optionClass;
+        try {
+            optionClass = Class.forName(className, false, SchemaWriter.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return;
+        }
+        if (!hasOptions(optionClass)) {
+            return;
+        }
+        try {
+            Files.write(output.resolve(optionClass.getName() + ".schema"), SchemaSnapshot.write(ParsePlan.of(optionClass)));
+        } catch (RuntimeException e) {
+            System.err.println("Skipping " + className + ": " + e);
+        }
+    }
+
+    private static boolean hasOptions(Class<?> optionClass) {
+        Constructor<?>[] constructors = optionClass.getDeclaredConstructors();
+        return !optionClass.isInterface() && constructors.length > 0
+                && Arrays.stream(constructors[0].getParameters()).anyMatch(it -> it.isAnnotationPresent(Option.class));
+    }
+}
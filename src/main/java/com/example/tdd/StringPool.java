@@ -0,0 +1,36 @@
+package com.example.tdd;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class StringPool {
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+
+    private StringPool(int capacity) {
+        this.table = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public static StringPool of(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        int size = Math.min(capacity, 1 << 30);
+        return new StringPool(size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1);
+    }
+
+    public String intern(String value) {
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String pooled = table.getPlain(index);
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+        table.setPlain(index, value);
+        return value;
+    }
+
+    public int capacity() {
+        return table.length();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.IllegalSubcommandException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class Subcommands<G> {
+    private final Class<G> globalClass;
+    private final Map<String, Supplier<? extends Class<?>>> commands = new ConcurrentHashMap<>();
+
+    private Subcommands(Class<G> globalClass) {
+        this.globalClass = globalClass;
+    }
+
+    public static <G> Subcommands<G> of(Class<G> globalClass) {
+        return new Subcommands<>(globalClass);
+    }
+
+    public static Subcommands<Void> of() {
+        return new Subcommands<>(null);
+    }
+
+    public Subcommands<G> register(String name, Class<?> optionClass) {
+        return register(name, () -> optionClass);
+    }
+
+    public Subcommands<G> register(String name, Supplier<? extends Class<?>> optionClass) {
+        commands.put(name, optionClass);
+        return this;
+    }
+
+    public Command<G> parse(String... args) {
+        int i = command(args);
+        Supplier<? extends Class<?>> optionClass = i < args.length ? commands.get(args[i]) : null;
+        if (optionClass == null) {
+            throw new IllegalSubcommandException(i < args.length ? args[i] : null);
+        }
+        G global = globalClass == null ? null : Args.parse(globalClass, Arrays.copyOfRange(args, 0, i));
+        Object options = Args.parse(optionClass.get(), Arrays.copyOfRange(args, i + 1, args.length));
+        return new Command<>(args[i], global, options);
+    }
+
+    private int command(String[] args) {
+        ParsePlan plan = globalClass == null ? null : Args.plan(globalClass);
+        int i = 0;
+        while (i < args.length && Tokens.isFlag(args[i])) {
+            int option = plan == null ? -1 : plan.option(args[i]);
+            int arity = option < 0 ? 0 : ParsePlan.arity(plan.types()[option]);
+            i++;
+            for (int skipped = 0; i < args.length && !Tokens.isFlag(args[i]); skipped++, i++) {
+                if (arity >= 0 ? skipped == arity : commands.containsKey(args[i])) {
+                    break;
+                }
+            }
+        }
+        return i;
+    }
+
+    public record Command<G>(String name, G global, Object options) {
+        public <T> T options(Class<T> optionClass) {
+            return optionClass.cast(options);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.tdd;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+final class Tokens extends AbstractList<String> implements RandomAccess {
+    private static final int[] NONE = new int[0];
+
+    private final String[] tokens;
+    private final int size;
+    private final FlagTrie trie;
+    private final int dashes;
+    private final int[] index;
+    private final ArgFile argFile;
+    private final String location;
+    private final List<Problem> problems;
+    private final StringPool pool = Args.pool();
+
+    private Tokens(String[] tokens, int size, ArgFile argFile, FlagTrie trie, List<Problem> problems) {
+        this.tokens = tokens;
+        this.size = size;
+        this.argFile = argFile;
+        this.location = null;
+        this.problems = problems;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (tokens[i].startsWith("-")) {
+                count++;
+            }
+        }
+        this.dashes = count;
+        if (count == 0) {
+            this.trie = trie;
+            this.index = NONE;
+            return;
+        }
+        this.trie = trie == null ? FlagTrie.exact() : trie;
+        this.index = new int[3 * count + this.trie.size() + (trie == null ? count : 0)];
+        int k = 0;
+        for (int i = 0; i < size; i++) {
+            if (tokens[i].startsWith("-")) {
+                index[k] = i;
+                index[2 * count + k++] = trie == null ? this.trie.add(tokens[i]) : slot(i);
+            }
+        }
+        int next = size;
+        for (k = count - 1; k >= 0; k--) {
+            index[count + k] = next;
+            if (isFlag(tokens[index[k]])) {
+                next = index[k];
+            }
+            int slot = index[2 * count + k];
+            if (slot >= 0) {
+                index[2 * count + k] = index[3 * count + slot];
+                index[3 * count + slot] = k + 1;
+            } else {
+                index[2 * count + k] = 0;
+            }
+        }
+    }
+
+    private Tokens(String[] tokens, String location, List<Problem> problems) {
+        this.tokens = tokens;
+        this.size = tokens.length;
+        this.argFile = null;
+        this.location = location;
+        this.problems = problems;
+        this.trie = FlagTrie.exact();
+        this.trie.add(tokens[0]);
+        this.dashes = 1;
+        this.index = new int[]{0, size, 0, 1};
+    }
+
+    private int slot(int position) {
+        int slot = trie.slot(tokens[position]);
+        if (slot == FlagTrie.AMBIGUOUS) {
+            ambiguous(position);
+        }
+        return slot;
+    }
+
+    static Tokens of(String... arguments) {
+        return expand(arguments, null, null);
+    }
+
+    static Tokens of(FlagTrie trie, String... arguments) {
+        return expand(arguments, trie, null);
+    }
+
+    static Tokens collecting(String... arguments) {
+        return expand(arguments, null, new ArrayList<>());
+    }
+
+    static Tokens collecting(FlagTrie trie, String... arguments) {
+        return expand(arguments, trie, new ArrayList<>());
+    }
+
+    private static Tokens expand(String[] arguments, FlagTrie trie, List<Problem> problems) {
+        if (!Args.argFiles() || !ArgFile.present(arguments)) {
+            return new Tokens(arguments, arguments.length, null, trie, problems);
+        }
+        ArgFile argFile = ArgFile.expand(problems, arguments);
+        return new Tokens(argFile.tokens(), argFile.size(), argFile, trie, problems);
+    }
+
+    private void ambiguous(int position) {
+        Problem problem = new Problem(Problem.Kind.AMBIGUOUS_OPTION, tokens[position], null, position,
+                argFile == null ? null : argFile.location(position));
+        if (problems == null) {
+            throw problem.exception();
+        }
+        problems.add(problem);
+    }
+
+    static Tokens literal(String location, List<Problem> problems, String flag, List<String> values) {
+        String[] tokens = new String[values.size() + 1];
+        tokens[0] = flag;
+        for (int i = 0; i < values.size(); i++) {
+            tokens[i + 1] = values.get(i);
+        }
+        return new Tokens(tokens, location, problems);
+    }
+
+    static Tokens of(List<String> arguments) {
+        if (arguments instanceof Tokens tokens) {
+            return tokens;
+        }
+        String[] tokens = arguments.toArray(String[]::new);
+        return new Tokens(tokens, tokens.length, null, null, null);
+    }
+
+    int[] positions(String flag) {
+        int first = first(flag);
+        if (first < 0) {
+            return null;
+        }
+        int occurrences = 0;
+        for (int k = first; k >= 0; k = next(k)) {
+            occurrences++;
+        }
+        int[] positions = new int[occurrences];
+        occurrences = 0;
+        for (int k = first; k >= 0; k = next(k)) {
+            positions[occurrences++] = index[k];
+        }
+        return positions;
+    }
+
+    int arity(String flag) {
+        int first = first(flag);
+        if (first < 0) {
+            return -1;
+        }
+        int size = 0;
+        for (int k = first; k >= 0; k = next(k)) {
+            size += end(k) - index[k] - 1;
+        }
+        return size;
+    }
+
+    String value(String flag, int offset) {
+        for (int k = first(flag); k >= 0; k = next(k)) {
+            int size = end(k) - index[k] - 1;
+            if (offset < size) {
+                return tokens[index[k] + 1 + offset];
+            }
+            offset -= size;
+        }
+        return null;
+    }
+
+    List<String> values(String flag) {
+        int first = first(flag);
+        if (first < 0) {
+            return null;
+        }
+        if (next(first) < 0) {
+            return subList(index[first] + 1, end(first));
+        }
+        List<String> values = new ArrayList<>(arity(flag));
+        for (int k = first; k >= 0; k = next(k)) {
+            for (int i = index[k] + 1; i < end(k); i++) {
+                values.add(tokens[i]);
+            }
+        }
+        return values;
+    }
+
+    private int first(String flag) {
+        if (dashes == 0) {
+            return -1;
+        }
+        int slot = trie.slot(flag);
+        return slot < 0 || slot >= trie.size() ? -1 : index[3 * dashes + slot] - 1;
+    }
+
+    private int next(int k) {
+        return index[2 * dashes + k] - 1;
+    }
+
+    private int end(int k) {
+        return index[dashes + k];
+    }
+
+    boolean collecting() {
+        return problems != null;
+    }
+
+    List<Problem> problems() {
+        return problems;
+    }
+
+    StringPool pool() {
+        return pool;
+    }
+
+    void report(Problem.Kind kind, Option option, String value) {
+        problems.add(problem(kind, option, value));
+    }
+
+    Problem problem(Problem.Kind kind, Option option, String value) {
+        if (location != null) {
+            return new Problem(kind, option.value(), value, -1, location);
+        }
+        int position = position(OptionParsers.flag(option), value);
+        return new Problem(kind, option.value(), value, position, argFile == null ? null : argFile.location(position));
+    }
+
+    private int position(String flag, String value) {
+        int first = first(flag);
+        if (first < 0) {
+            return -1;
+        }
+        for (int k = first; value != null && k >= 0; k = next(k)) {
+            for (int i = index[k] + 1; i < end(k); i++) {
+                if (tokens[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return index[first];
+    }
+
+    static boolean isFlag(String token) {
+        int start = token.startsWith("--") ? 2 : token.startsWith("-") ? 1 : 0;
+        if (start == 0 || token.length() == start) {
+            return false;
+        }
+        for (int i = start; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String get(int index) {
+        return tokens[Objects.checkIndex(index, size)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
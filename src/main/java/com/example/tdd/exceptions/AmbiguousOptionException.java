@@ -0,0 +1,13 @@
+package com.example.tdd.exceptions;
+
+public class AmbiguousOptionException extends RuntimeException {
+    private String option;
+
+    public AmbiguousOptionException(String option) {
+        this.option = option;
+    }
+
+    public String getOption() {
+        return option;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tdd.exceptions;
+
+public class IllegalArgFileException extends RuntimeException {
+    private String path;
+    private String location;
+
+    public IllegalArgFileException(String path, String location) {
+        this.path = path;
+        this.location = location;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+}
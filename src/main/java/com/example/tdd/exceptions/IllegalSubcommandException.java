@@ -0,0 +1,13 @@
+package com.example.tdd.exceptions;
+
+public class IllegalSubcommandException extends RuntimeException {
+    private String subcommand;
+
+    public IllegalSubcommandException(String subcommand) {
+        this.subcommand = subcommand;
+    }
+
+    public String getSubcommand() {
+        return subcommand;
+    }
+}
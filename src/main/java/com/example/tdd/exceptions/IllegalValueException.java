@@ -3,10 +3,16 @@ package com.example.tdd.exceptions;
 public class IllegalValueException extends RuntimeException {
     private String option;
     private String value;
+    private String location;
 
     public IllegalValueException(String option, String value) {
+        this(option, value, null);
+    }
+
+    public IllegalValueException(String option, String value, String location) {
         this.option = option;
         this.value = value;
+        this.location = location;
     }
 
     public String getOption() {
@@ -16,4 +22,8 @@ public class IllegalValueException extends RuntimeException {
     public String getValue() {
         return value;
     }
+
+    public String getLocation() {
+        return location;
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.tdd.exceptions;
+
+public class UnterminatedQuoteException extends RuntimeException {
+    private String location;
+
+    public UnterminatedQuoteException(String location) {
+        this.location = location;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+}
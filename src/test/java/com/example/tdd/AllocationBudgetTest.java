@@ -0,0 +1,62 @@
+package com.example.tdd;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AllocationBudgetTest {
+    private static final double FACTOR = Double.parseDouble(System.getProperty("com.example.tdd.allocationBudgetFactor", "1.0"));
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 1_000;
+
+    // Budgets are bytes per Args.parse call and exclude the argument arrays, which are allocated once here.
+    private static final String[] SINGLE_VALUES = {"-l", "-p", "8080", "-d", "/usr/logs"};
+    private static final String[] ABBREVIATED = {"--log", "--port", "8080", "--dir", "/usr/logs"};
+    private static final String[] LISTS = {"-g", "this", "is", "-d", "1", "2", "-3"};
+    private static final String[] NONE = {};
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeEach
+    void supported() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+    }
+
+    @Test
+    void should_parse_single_value_options_within_budget() {
+        assertWithinBudget(256, () -> Args.parse(ArgsTest.MultiOptions.class, SINGLE_VALUES));
+    }
+
+    @Test
+    void should_parse_abbreviated_options_within_budget() {
+        assertWithinBudget(288, () -> Args.parse(ArgsTest.MultiFullOptions.class, ABBREVIATED));
+    }
+
+    @Test
+    void should_parse_list_options_within_budget() {
+        assertWithinBudget(384, () -> Args.parse(ArgsTest.ListOptions.class, LISTS));
+    }
+
+    @Test
+    void should_parse_missing_options_within_budget() {
+        assertWithinBudget(160, () -> Args.parse(ArgsTest.MultiOptions.class, NONE));
+    }
+
+    private void assertWithinBudget(long budget, Runnable parse) {
+        for (int i = 0; i < WARMUP; i++) {
+            parse.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            parse.run();
+        }
+        long allocated = (threads.getThreadAllocatedBytes(thread) - start) / ITERATIONS;
+        long limit = (long) (budget * FACTOR);
+        assertTrue(allocated <= limit, () -> allocated + " bytes per parse exceeds budget of " + limit);
+    }
+}
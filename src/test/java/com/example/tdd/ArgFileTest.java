@@ -0,0 +1,134 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.IllegalArgFileException;
+import com.example.tdd.exceptions.IllegalValueException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArgFileTest {
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void enable() {
+        Args.expandArgFiles(true);
+    }
+
+    @AfterEach
+    void disable() {
+        Args.expandArgFiles(false);
+    }
+
+    @Test
+    void should_keep_argument_file_token_literal_unless_enabled() throws IOException {
+        Path file = write("options.txt", "-p 8080");
+        Args.expandArgFiles(false);
+        ArgsTest.MultiOptions options = Args.parse(ArgsTest.MultiOptions.class, "-d", "@" + file);
+        assertEquals("@" + file, options.directory());
+        assertEquals(0, options.port());
+    }
+
+    @Test
+    void should_expand_arguments_from_file() throws IOException {
+        Path file = write("options.txt", "-l\n-p 8080\n-d \"/usr/my logs\"\n");
+        ArgsTest.MultiOptions options = Args.parse(ArgsTest.MultiOptions.class, "@" + file);
+        assertTrue(options.logging());
+        assertEquals(8080, options.port());
+        assertEquals("/usr/my logs", options.directory());
+    }
+
+    @Test
+    void should_mix_file_and_command_line_arguments() throws IOException {
+        Path file = write("group.txt", "this 'is a' list");
+        ArgsTest.ListOptions options = Args.parse(ArgsTest.ListOptions.class, "-g", "@" + file, "-d", "1", "2");
+        assertArrayEquals(new String[]{"this", "is a", "list"}, options.group());
+        assertArrayEquals(new Integer[]{1, 2}, options.decimals());
+    }
+
+    @Test
+    void should_expand_nested_argument_files_relative_to_parent() throws IOException {
+        write("decimals.txt", "1 2\n3");
+        Path file = write("options.txt", "-d @decimals.txt 4");
+        ArgsTest.ListOptions options = Args.parse(ArgsTest.ListOptions.class, "@" + file);
+        assertArrayEquals(new Integer[]{1, 2, 3, 4}, options.decimals());
+    }
+
+    @Test
+    void should_expand_nested_argument_file_at_end_of_file_without_newline() throws IOException {
+        write("decimals.txt", "3 4");
+        Path file = write("options.txt", "-g a -d 1 2 @decimals.txt");
+        ArgsTest.ListOptions options = Args.parse(ArgsTest.ListOptions.class, "@" + file);
+        assertArrayEquals(new String[]{"a"}, options.group());
+        assertArrayEquals(new Integer[]{1, 2, 3, 4}, options.decimals());
+        assertTrue(Args.tryParse(ArgsTest.ListOptions.class, "@" + file).isSuccess());
+    }
+
+    @Test
+    void should_report_line_and_column_of_illegal_value() throws IOException {
+        Path file = write("decimals.txt", "-d 1 2\n  3 four 5\n");
+        RuntimeException e = assertThrows(RuntimeException.class, () -> Args.parse(ArgsTest.ListOptions.class, "@" + file));
+        IllegalValueException illegal = assertInstanceOf(IllegalValueException.class, e.getCause());
+        assertEquals("four", illegal.getValue());
+        assertEquals(file + ":2:5", illegal.getLocation());
+    }
+
+    @Test
+    void should_report_location_of_value_following_nested_argument_file() throws IOException {
+        write("decimals.txt", "3 4");
+        Path file = write("options.txt", "-d 1 @decimals.txt\n 2 x");
+        RuntimeException e = assertThrows(RuntimeException.class, () -> Args.parse(ArgsTest.ListOptions.class, "@" + file));
+        IllegalValueException illegal = assertInstanceOf(IllegalValueException.class, e.getCause());
+        assertEquals(file + ":2:4", illegal.getLocation());
+    }
+
+    @Test
+    void should_resume_parent_file_after_nested_argument_file_across_buffers() throws IOException {
+        write("middle.txt", "3");
+        Path file = write("large.txt", "-d " + "1 ".repeat(30_000) + "@middle.txt " + "2 ".repeat(30_000));
+        Integer[] decimals = Args.parse(ArgsTest.ListOptions.class, "@" + file).decimals();
+        assertEquals(60_001, decimals.length);
+        assertEquals(Integer.valueOf(1), decimals[29_999]);
+        assertEquals(Integer.valueOf(3), decimals[30_000]);
+        assertEquals(Integer.valueOf(2), decimals[60_000]);
+    }
+
+    @Test
+    void should_reject_recursive_argument_files() throws IOException {
+        Path file = write("self.txt", "-d 1 @self.txt");
+        RuntimeException e = assertThrows(RuntimeException.class, () -> Args.parse(ArgsTest.ListOptions.class, "@" + file));
+        IllegalArgFileException illegal = assertInstanceOf(IllegalArgFileException.class, e.getCause());
+        assertEquals("@self.txt", illegal.getPath());
+        assertEquals(file + ":1:6", illegal.getLocation());
+    }
+
+    @Test
+    void should_report_missing_argument_file_as_problem() {
+        String missing = "@" + directory.resolve("missing.txt");
+        ParseResult<ArgsTest.ListOptions> result = Args.tryParse(ArgsTest.ListOptions.class, "-d", "1", missing);
+        assertEquals(List.of(new Problem(Problem.Kind.ILLEGAL_ARG_FILE, null, missing, 2)), result.problems());
+    }
+
+    @Test
+    void should_report_unterminated_quote_in_argument_file_as_problem() throws IOException {
+        Path file = write("quote.txt", "-g ok\n 'open");
+        ParseResult<ArgsTest.ListOptions> result = Args.tryParse(ArgsTest.ListOptions.class, "@" + file);
+        assertEquals(List.of(new Problem(Problem.Kind.UNTERMINATED_QUOTE, null, null, 2, file + ":2:2")), result.problems());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.IllegalValueException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArgStreamTest {
+    @Test
+    void should_parse_nul_delimited_records() {
+        List<ParseResult<ArgsTest.MultiOptions>> results = Args.stream(ArgsTest.MultiOptions.class, input("-l -p 8080 -d /usr/logs\0-p 9090\0")).toList();
+
+        assertEquals(2, results.size());
+        assertEquals(new ArgsTest.MultiOptions(true, 8080, "/usr/logs"), results.get(0).value());
+        assertEquals(new ArgsTest.MultiOptions(false, 9090, ""), results.get(1).value());
+    }
+
+    @Test
+    void should_parse_newline_delimited_records() {
+        List<ParseResult<ArgsTest.ListOptions>> results = Args.stream(ArgsTest.ListOptions.class,
+                Channels.newChannel(input("-g 'this is' a\n-d 1 2\n")), (byte) '\n').toList();
+
+        assertArrayEquals(new String[]{"this is", "a"}, results.get(0).value().group());
+        assertArrayEquals(new Integer[]{1, 2}, results.get(1).value().decimals());
+    }
+
+    @Test
+    void should_end_record_at_delimiter_inside_quotes() {
+        List<ParseResult<ArgsTest.MultiOptions>> results = Args.stream(ArgsTest.MultiOptions.class, input("-p 1\0-p \"2\0-p 3\0-p 4\0")).toList();
+
+        assertEquals(4, results.size());
+        assertEquals(1, results.get(0).value().port());
+        assertEquals(List.of(new Problem(Problem.Kind.UNTERMINATED_QUOTE, null, null, 1, "record 2:1:4")), results.get(1).problems());
+        assertEquals(3, results.get(2).value().port());
+        assertEquals(4, results.get(3).value().port());
+    }
+
+    @Test
+    void should_report_problem_and_continue_with_next_record() {
+        List<ParseResult<ArgsTest.MultiOptions>> results = Args.stream(ArgsTest.MultiOptions.class, input("-p abc\0\0-p 8080\0")).toList();
+
+        assertEquals(3, results.size());
+        assertEquals(IllegalValueException.class, results.get(0).problems().get(0).kind().exceptionType());
+        assertEquals(new ArgsTest.MultiOptions(false, 0, ""), results.get(1).value());
+        assertEquals(8080, results.get(2).value().port());
+    }
+
+    @Test
+    void should_read_records_on_demand() {
+        InputStream input = new InputStream() {
+            private final byte[] first = "-l\0".getBytes(StandardCharsets.UTF_8);
+            private boolean read;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (read) {
+                    throw new IllegalStateException("read ahead");
+                }
+                read = true;
+                System.arraycopy(first, 0, b, off, first.length);
+                return first.length;
+            }
+        };
+
+        assertTrue(Args.stream(ArgsTest.MultiOptions.class, input).findFirst().orElseThrow().value().logging());
+    }
+
+    @Test
+    void should_report_unterminated_quote_in_last_record() {
+        List<ParseResult<ArgsTest.MultiOptions>> results = Args.stream(ArgsTest.MultiOptions.class, input("-l\0-d 'logs")).toList();
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).value().logging());
+        assertEquals(List.of(new Problem(Problem.Kind.UNTERMINATED_QUOTE, null, null, 1, "record 2:1:4")), results.get(1).problems());
+        assertFalse(Args.stream(ArgsTest.MultiOptions.class, input("")).findAny().isPresent());
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
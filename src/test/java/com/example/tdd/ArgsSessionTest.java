@@ -0,0 +1,70 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.InsufficientArgumentsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArgsSessionTest {
+    @Test
+    void should_parse_tokens_appended_incrementally() {
+        ArgsSession<ArgsTest.MultiOptions> session = Args.session(ArgsTest.MultiOptions.class);
+        session.append("-l").append("-p", "8080");
+
+        assertEquals("", session.result().value().directory());
+
+        session.append("-d", "/usr/logs");
+        ArgsTest.MultiOptions options = session.result().value();
+
+        assertTrue(options.logging());
+        assertEquals(8080, options.port());
+        assertEquals("/usr/logs", options.directory());
+    }
+
+    @Test
+    void should_reuse_value_of_untouched_option() {
+        ArgsSession<ArgsTest.ListOptions> session = Args.session(ArgsTest.ListOptions.class);
+        String[] group = session.update("-g", "this", "is", "-d", "1", "2").result().value().group();
+
+        ArgsTest.ListOptions options = session.set(5, "3").result().value();
+
+        assertSame(group, options.group());
+        assertArrayEquals(new Integer[]{1, 3}, options.decimals());
+    }
+
+    @Test
+    void should_report_problem_of_edited_option() {
+        ArgsSession<ArgsTest.MultiOptions> session = Args.session(ArgsTest.MultiOptions.class);
+        session.update("-l", "-p", "8080", "-d", "/usr/logs").truncate(4);
+
+        List<Problem> problems = session.result().problems();
+
+        assertEquals(1, problems.size());
+        assertEquals(InsufficientArgumentsException.class, problems.get(0).kind().exceptionType());
+        assertEquals("d", problems.get(0).option());
+    }
+
+    @Test
+    void should_complete_remaining_flags() {
+        ArgsSession<ArgsTest.MultiFullOptions> session = Args.session(ArgsTest.MultiFullOptions.class);
+        session.append("--logging");
+
+        assertEquals(List.of("--port", "--directory"), session.remainingFlags());
+        assertEquals(List.of("--directory"), session.remainingFlags("--d"));
+    }
+
+    @Test
+    void should_tell_if_last_flag_needs_value() {
+        ArgsSession<ArgsTest.MultiFullOptions> session = Args.session(ArgsTest.MultiFullOptions.class);
+
+        assertFalse(session.append("--logging").needsValue());
+        assertTrue(session.append("--po").needsValue());
+        assertFalse(session.append("8080").needsValue());
+    }
+}
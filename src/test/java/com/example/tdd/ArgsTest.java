@@ -1,11 +1,24 @@
 package com.example.tdd;
 
+import com.example.tdd.exceptions.AmbiguousOptionException;
 import com.example.tdd.exceptions.IllegalOptionException;
+import com.example.tdd.exceptions.IllegalValueException;
 import com.example.tdd.exceptions.UnsupportedOptionTypeException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -19,7 +32,72 @@ public class ArgsTest {
         assertEquals("/usr/logs", options.directory());
     }
 
-    record MultiOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
+    public record MultiOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
+    }
+
+    @Test
+    void should_return_parsed_options_if_try_parse_succeeds() {
+        ParseResult<MultiOptions> result = Args.tryParse(MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
+        assertTrue(result.isSuccess());
+        assertEquals(new MultiOptions(true, 8080, "/usr/logs"), result.value());
+    }
+
+    @Test
+    void should_collect_all_problems_if_try_parse_fails() {
+        ParseResult<MultiOptions> result = Args.tryParse(MultiOptions.class, "-l", "true", "-p", "port", "-d");
+        assertFalse(result.isSuccess());
+        assertNull(result.value());
+        assertEquals(List.of(
+                new Problem(Problem.Kind.TOO_MANY_ARGUMENTS, "l", "true", 1),
+                new Problem(Problem.Kind.ILLEGAL_VALUE, "p", "port", 3),
+                new Problem(Problem.Kind.INSUFFICIENT_ARGUMENTS, "d", null, 4)), result.problems());
+    }
+
+    @Test
+    void should_not_throw_exceptions_when_try_parse_fails() throws Exception {
+        Args.tryParse(MultiOptions.class, "-p", "port");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.JavaExceptionThrow");
+            recording.start();
+            ParseResult<MultiOptions> result = Args.tryParse(MultiOptions.class, "-p", "port");
+            recording.stop();
+            assertFalse(result.isSuccess());
+            Path dump = Files.createTempFile("exceptions", ".jfr");
+            try {
+                recording.dump(dump);
+                long thread = Thread.currentThread().getId();
+                assertEquals(List.of(), RecordingFile.readAllEvents(dump).stream()
+                        .filter(event -> event.getThread() != null && event.getThread().getJavaThreadId() == thread)
+                        .map(event -> event.getClass("thrownClass").getName())
+                        .toList());
+            } finally {
+                Files.delete(dump);
+            }
+        }
+    }
+
+    @Test
+    void should_keep_throwing_exception_if_parse_fails() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> Args.parse(MultiOptions.class, "-p", "port"));
+        assertInstanceOf(IllegalValueException.class, e.getCause());
+    }
+
+    @Test
+    void should_parse_all_command_lines_in_input_order() {
+        List<String[]> commandLines = IntStream.range(0, 1000)
+                .mapToObj(it -> new String[]{"-p", it == 500 ? "port" : String.valueOf(it)})
+                .toList();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<ParseResult<MultiOptions>> results;
+        try {
+            results = Args.parseAll(MultiOptions.class, commandLines.stream(), pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1000, results.size());
+        assertEquals(999, results.get(999).value().port());
+        assertEquals(List.of(new Problem(Problem.Kind.ILLEGAL_VALUE, "p", "port", 1)), results.get(500).problems());
+        assertEquals(999, results.stream().filter(ParseResult::isSuccess).count());
     }
 
     @Test
@@ -30,6 +108,23 @@ public class ArgsTest {
         assertEquals("port", e.getParameter());
     }
 
+    @Test
+    void should_reuse_parse_plan_for_repeated_parse_of_same_option_class() {
+        MultiOptions first = Args.parse(MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
+        MultiOptions second = Args.parse(MultiOptions.class, "-p", "8081");
+        assertTrue(first.logging());
+        assertEquals(8080, first.port());
+        assertFalse(second.logging());
+        assertEquals(8081, second.port());
+        assertEquals("", second.directory());
+    }
+
+    @Test
+    void should_throw_illegal_option_exception_for_every_parse_of_invalid_option_class() {
+        assertThrows(IllegalOptionException.class, () -> Args.parse(OptionsWithoutAnnotation.class, "-l"));
+        assertThrows(IllegalOptionException.class, () -> Args.parse(OptionsWithoutAnnotation.class, "-l"));
+    }
+
     record OptionsWithoutAnnotation(@Option("l") boolean logging, int port, @Option("d") String directory) {
     }
 
@@ -55,6 +150,17 @@ public class ArgsTest {
     record ListOptions(@Option("g") String[] group, @Option("d") Integer[] decimals) {
     }
 
+    @Test
+    void should_parse_primitive_list_options() {
+        PrimitiveListOptions options = Args.parse(PrimitiveListOptions.class, "-i", "1", "-2", "-l", "8589934592", "-r", "0.5");
+        assertArrayEquals(new int[]{1, -2}, options.ids());
+        assertArrayEquals(new long[]{8589934592L}, options.offsets());
+        assertArrayEquals(new double[]{0.5}, options.ratios());
+    }
+
+    record PrimitiveListOptions(@Option("i") int[] ids, @Option("l") long[] offsets, @Option("r") double[] ratios) {
+    }
+
     @Test
     void should_parse_multi_full_options() {
         MultiFullOptions options = Args.parse(MultiFullOptions.class, "--logging", "--port", "8080", "--directory", "/usr/logs");
@@ -63,8 +169,38 @@ public class ArgsTest {
         assertEquals("/usr/logs", options.directory());
     }
 
+    @Test
+    void should_accept_unique_prefix_of_full_option() {
+        MultiFullOptions options = Args.parse(MultiFullOptions.class, "--log", "--po", "8080", "--dir", "/usr/logs");
+        assertTrue(options.logging());
+        assertEquals(8080, options.port());
+        assertEquals("/usr/logs", options.directory());
+    }
+
+    @Test
+    void should_reject_ambiguous_prefix_of_full_option() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> Args.parse(AmbiguousOptions.class, "--dir", "/usr/logs"));
+        AmbiguousOptionException ambiguous = assertInstanceOf(AmbiguousOptionException.class, e.getCause());
+        assertEquals("--dir", ambiguous.getOption());
+        assertEquals(List.of(new Problem(Problem.Kind.AMBIGUOUS_OPTION, "--dir", null, 0)),
+                Args.tryParse(AmbiguousOptions.class, "--dir", "/usr/logs").problems());
+    }
+
+    record AmbiguousOptions(@Option(value = "directory", format = Format.DASH) String directory,
+                            @Option(value = "dirty", format = Format.DASH) boolean dirty) {
+    }
+
     record MultiFullOptions(@Option(value = "logging", format = Format.DASH) boolean logging,
                             @Option(value = "port", format = Format.DASH) int port,
                             @Option(value = "directory", format = Format.DASH) String directory) {
     }
+
+    @Test
+    void should_prefer_parser_with_generated_name_if_present() {
+        StubbedOptions options = Args.parse(StubbedOptions.class, "-p", "8080");
+        assertEquals(-1, options.port());
+    }
+
+    record StubbedOptions(@Option("p") int port) {
+    }
 }
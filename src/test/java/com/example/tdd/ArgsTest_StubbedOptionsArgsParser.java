@@ -0,0 +1,8 @@
+package com.example.tdd;
+
+public final class ArgsTest_StubbedOptionsArgsParser implements ArgsParser<ArgsTest.StubbedOptions> {
+    @Override
+    public ArgsTest.StubbedOptions parse(String... args) {
+        return new ArgsTest.StubbedOptions(-1);
+    }
+}
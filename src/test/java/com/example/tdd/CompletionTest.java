@@ -0,0 +1,151 @@
+package com.example.tdd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompletionTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_complete_remaining_flags_of_both_formats() {
+        assertEquals(List.of("-l", "--mode", "--output"), Completion.complete(MixedOptions.class, ""));
+        assertEquals(List.of("--mode", "--output"), Completion.complete(MixedOptions.class, "-l", "--"));
+        assertEquals(List.of("--output"), Completion.complete(MixedOptions.class, "--mode", "FAST", "--o"));
+    }
+
+    @Test
+    void should_complete_enum_values_of_pending_option() {
+        assertEquals(List.of("FAST", "SAFE"), Completion.complete(MixedOptions.class, "--mode", ""));
+        assertEquals(List.of("SAFE"), Completion.complete(MixedOptions.class, "--mo", "S"));
+        assertEquals(List.of(), Completion.complete(MixedOptions.class, "--output", ""));
+    }
+
+    @Test
+    void should_generate_static_script() {
+        String script = Completion.script("my-cli", MixedOptions.class);
+
+        assertTrue(script.contains("compgen -W '-l --mode --output'"));
+        assertTrue(script.contains("'--mode') COMPREPLY=($(compgen -W 'FAST SAFE' -- \"$cur\")); return ;;"));
+        assertTrue(script.contains("'--output') COMPREPLY=($(compgen -f -- \"$cur\")); return ;;"));
+        assertFalse(script.contains("-l')"));
+        assertTrue(script.endsWith("complete -o default -F _my_cli_complete 'my-cli'\n"));
+        assertFalse(script.contains("nc -U"));
+        assertTrue(Completion.script("my-cli", MixedOptions.class, "/tmp/cli.sock").contains("nc -U '/tmp/cli.sock'"));
+    }
+
+    @Test
+    void should_match_abbreviated_flags_in_static_script() {
+        String script = Completion.script("my-cli", AbbreviatedOptions.class);
+
+        assertTrue(script.contains("        '--m'|'--mo'|'--mod'|'--mode') COMPREPLY=($(compgen -W 'FAST SAFE' -- \"$cur\")); return ;;"));
+        assertTrue(script.contains("        '--dir') COMPREPLY=(); return ;;"));
+        assertTrue(script.contains("        '--dire'|'--direc'|'--direct'|'--directo'|'--director'|'--directory') COMPREPLY=($(compgen -f -- \"$cur\")); return ;;"));
+    }
+
+    @Test
+    void should_fall_back_to_static_lists_when_daemon_does_not_answer() {
+        String script = Completion.script("my-cli", MixedOptions.class, "/tmp/cli.sock");
+
+        assertTrue(script.contains(" | nc -U '/tmp/cli.sock' 2>/dev/null); then\n        local IFS=$'\\n'\n        COMPREPLY=($out)\n        return\n    fi\n    case \"$prev\" in\n"));
+    }
+
+    @Test
+    void should_quote_command_and_socket_in_script() {
+        String script = Completion.script("it's $(cli)", MixedOptions.class, "/tmp/it's.sock");
+
+        assertTrue(script.contains("[ -S '/tmp/it'\\''s.sock' ]"));
+        assertTrue(script.contains("printf '%s\\0' 'it'\\''s $(cli)' "));
+        assertTrue(script.contains("nc -U '/tmp/it'\\''s.sock' "));
+        assertTrue(script.endsWith("complete -o default -F _it_s___cli__complete 'it'\\''s $(cli)'\n"));
+    }
+
+    @Test
+    void should_escape_expansions_in_compgen_words() {
+        String script = Completion.script("my-cli", ShellOptions.class);
+
+        assertTrue(script.contains("compgen -W '--\\$\\(cli\\) --it\\'\\''s'"));
+    }
+
+    @Test
+    void should_answer_queries_over_unix_domain_socket() throws IOException {
+        Path socket = directory.resolve("completion.sock");
+        try (CompletionDaemon daemon = CompletionDaemon.start(socket, Map.of("my-cli", MixedOptions.class))) {
+            assertEquals("--mode\n--output\n", query(daemon.socket(), "my-cli\0-l\0--\0\n"));
+            assertEquals("FAST\nSAFE\n", query(daemon.socket(), "my-cli\0--mode\0\0\n"));
+            assertEquals("\n", query(daemon.socket(), "unknown\0-\0\n"));
+        }
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    void should_not_block_queries_behind_stalled_client() throws IOException {
+        Path socket = directory.resolve("completion.sock");
+        try (CompletionDaemon daemon = CompletionDaemon.start(socket, Map.of("my-cli", MixedOptions.class));
+             SocketChannel stalled = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            stalled.connect(UnixDomainSocketAddress.of(daemon.socket()));
+            stalled.write(ByteBuffer.wrap("my-cli\0".getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals("FAST\nSAFE\n", query(daemon.socket(), "my-cli\0--mode\0\0\n"));
+        }
+    }
+
+    @Test
+    void should_close_client_that_does_not_finish_request() throws IOException {
+        Path socket = directory.resolve("completion.sock");
+        try (CompletionDaemon daemon = CompletionDaemon.start(socket, Map.of("my-cli", MixedOptions.class));
+             SocketChannel stalled = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            stalled.connect(UnixDomainSocketAddress.of(daemon.socket()));
+            long start = System.nanoTime();
+
+            assertEquals(-1, stalled.read(ByteBuffer.allocate(16)));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(CompletionDaemon.READ_TIMEOUT_MILLIS / 2));
+        }
+    }
+
+    static String query(Path socket, String request) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.UTF_8)));
+            ByteBuffer response = ByteBuffer.allocate(4096);
+            while (channel.read(response) != -1) {
+                if (!response.hasRemaining()) {
+                    break;
+                }
+            }
+            return new String(response.array(), 0, response.position(), StandardCharsets.UTF_8);
+        }
+    }
+
+    enum Mode {FAST, SAFE}
+
+    record MixedOptions(@Option("l") boolean logging,
+                        @Option(value = "mode", format = Format.DASH) Mode mode,
+                        @Option(value = "output", format = Format.DASH) Path output) {
+    }
+
+    record AbbreviatedOptions(@Option(value = "mode", format = Format.DASH) Mode mode,
+                              @Option(value = "dir", format = Format.DASH) String dir,
+                              @Option(value = "directory", format = Format.DASH) Path directory) {
+    }
+
+    record ShellOptions(@Option(value = "$(cli)", format = Format.DASH) boolean command,
+                        @Option(value = "it's", format = Format.DASH) boolean quote) {
+    }
+}
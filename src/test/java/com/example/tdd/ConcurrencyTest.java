@@ -0,0 +1,158 @@
+package com.example.tdd;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ConcurrencyTest {
+    private static final int THREADS = 16;
+
+    @Test
+    void should_share_one_parser_when_first_use_races() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            Class<?> optionClass = isolated(ArgsTest.MultiOptions.class);
+            Set<ArgsParser<?>> parsers = ConcurrentHashMap.newKeySet();
+            List<Object> results = race(() -> {
+                ArgsParser<?> parser = Args.parser(optionClass);
+                parsers.add(parser);
+                return parser.parse("-l", "-p", "8080", "-d", "/usr/logs");
+            });
+            assertEquals(1, parsers.size());
+            for (Object result : results) {
+                assertEquals("MultiOptions[logging=true, port=8080, directory=/usr/logs]", result.toString());
+            }
+        }
+    }
+
+    @Test
+    void should_parse_many_classes_concurrently() throws Exception {
+        List<Class<?>> classes = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            classes.add(isolated(i % 2 == 0 ? ArgsTest.MultiOptions.class : RepeatedOptions.class));
+        }
+        List<Object> results = race(() -> {
+            List<String> parsed = new ArrayList<>();
+            for (Class<?> optionClass : classes) {
+                Object options = Args.parse(optionClass, "-l", "-p", "8080", "-d", "/usr/logs");
+                ParseResult<?> failure = Args.tryParse(optionClass, "-p", "port");
+                parsed.add(options.getClass().getSimpleName() + failure.isSuccess());
+            }
+            return parsed;
+        });
+        for (Object result : results) {
+            List<?> parsed = (List<?>) result;
+            assertEquals(64, parsed.size());
+            assertEquals("MultiOptionsfalse", parsed.get(0));
+        }
+    }
+
+    @Test
+    void should_reuse_parser_instance_across_threads() throws Exception {
+        ArgsParser<ArgsTest.MultiOptions> parser = Args.parser(ArgsTest.MultiOptions.class);
+        assertSame(parser, Args.parser(ArgsTest.MultiOptions.class));
+        List<Object> results = race(() -> {
+            int sum = 0;
+            for (int i = 0; i < 10_000; i++) {
+                sum += parser.parse("-p", String.valueOf(i)).port();
+            }
+            return sum;
+        });
+        for (Object result : results) {
+            assertEquals(49_995_000, result);
+        }
+    }
+
+    @Test
+    void should_not_keep_throwaway_class_loader_reachable() throws Exception {
+        WeakReference<ClassLoader> loader = parseInThrowawayLoader();
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(loader.get());
+    }
+
+    private static WeakReference<ClassLoader> parseInThrowawayLoader() throws Exception {
+        Class<?> optionClass = isolated(ArgsTest.MultiOptions.class);
+        race(() -> Args.parser(optionClass).parse("-p", "8080"));
+        Args.session(optionClass).append("-l").result();
+        return new WeakReference<>(optionClass.getClassLoader());
+    }
+
+    private static List<Object> race(Callable<Object> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Class<?> isolated(Class<?> type) {
+        try {
+            return new IsolatedLoader(type).loadClass(type.getName());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class IsolatedLoader extends ClassLoader {
+        private final Class<?> type;
+
+        private IsolatedLoader(Class<?> type) {
+            super(type.getClassLoader());
+            this.type = type;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(type.getName()) && !name.equals(type.getEnclosingClass().getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream input = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    byte[] bytes = input.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    public record RepeatedOptions(@Option("l") boolean logging, @Option("p") int[] ports, @Option("d") String[] directories) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.tdd;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FlagTrieTest {
+    private final FlagTrie trie = FlagTrie.of(
+            Args.option("directory", Format.DASH),
+            Args.option("debug", Format.DASH),
+            Args.option("port", Format.DASH),
+            Args.option("portal", Format.DASH),
+            Args.option("l", Format.HYPHEN));
+
+    @Test
+    void should_resolve_unique_prefix_to_full_flag() {
+        assertEquals("--directory", trie.resolve("--dir"));
+        assertEquals("--debug", trie.resolve("--deb"));
+        assertEquals("--portal", trie.resolve("--porta"));
+    }
+
+    @Test
+    void should_keep_exact_flag_even_if_prefix_of_another() {
+        assertEquals("--port", trie.resolve("--port"));
+        assertEquals("--directory", trie.resolve("--directory"));
+    }
+
+    @Test
+    void should_return_null_for_ambiguous_prefix() {
+        assertNull(trie.resolve("--d"));
+        assertNull(trie.resolve("--po"));
+    }
+
+    @Test
+    void should_keep_unknown_and_hyphen_tokens() {
+        assertEquals("--logging", trie.resolve("--logging"));
+        assertEquals("--directoryx", trie.resolve("--directoryx"));
+        assertEquals("-l", trie.resolve("-l"));
+        assertEquals("-d", trie.resolve("-d"));
+        assertEquals("--", trie.resolve("--"));
+    }
+}
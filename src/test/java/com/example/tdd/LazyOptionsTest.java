@@ -0,0 +1,124 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.IllegalOptionException;
+import com.example.tdd.exceptions.IllegalValueException;
+import com.example.tdd.exceptions.UnsupportedOptionTypeException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyOptionsTest {
+    @Test
+    void should_parse_options_on_access() {
+        MultiOptions options = Args.lazy(MultiOptions.class, "-l", "-p", "8080", "-g", "this", "is");
+        assertTrue(options.logging());
+        assertEquals(8080, options.port());
+        assertArrayEquals(new String[]{"this", "is"}, options.group());
+        assertEquals("", options.directory());
+    }
+
+    @Test
+    void should_cache_parsed_value() {
+        MultiOptions options = Args.lazy(MultiOptions.class, "-g", "this", "is");
+        assertSame(options.group(), options.group());
+    }
+
+    @Test
+    void should_cache_absent_value() {
+        AtomicInteger parses = new AtomicInteger();
+        Args.register(Counted.class, (arguments, option) -> {
+            parses.incrementAndGet();
+            return null;
+        });
+        try {
+            CountedOptions options = Args.lazy(CountedOptions.class);
+            assertNull(options.counted());
+            assertNull(options.counted());
+            assertEquals(1, parses.get());
+        } finally {
+            Args.unregister(Counted.class);
+        }
+    }
+
+    @Test
+    void should_not_parse_option_until_accessed() {
+        MultiOptions options = Args.lazy(MultiOptions.class, "-l", "-p", "port");
+        assertTrue(options.logging());
+        IllegalValueException e = assertThrows(IllegalValueException.class, options::port);
+        assertEquals("p", e.getOption());
+    }
+
+    @Test
+    void should_validate_all_options_eagerly_on_request() {
+        MultiOptions options = Args.lazy(MultiOptions.class, "-l", "-p", "port");
+        assertThrows(IllegalValueException.class, () -> Args.validate(options));
+    }
+
+    @Test
+    void should_return_same_options_if_validation_passes() {
+        MultiOptions options = Args.lazy(MultiOptions.class, "-p", "8080");
+        assertSame(options, Args.validate(options));
+    }
+
+    @Test
+    void should_call_default_method() {
+        MultiOptions options = Args.lazy(MultiOptions.class, "-p", "8080");
+        assertEquals("localhost:8080", options.address());
+        assertFalse(options.logging());
+    }
+
+    @Test
+    void should_throw_illegal_option_exception_if_annotation_not_present() {
+        IllegalOptionException e = assertThrows(IllegalOptionException.class, () -> Args.lazy(OptionsWithoutAnnotation.class));
+        assertEquals("port", e.getParameter());
+    }
+
+    @Test
+    void should_raise_exception_if_type_not_supported() {
+        UnsupportedOptionTypeException e = assertThrows(UnsupportedOptionTypeException.class, () -> Args.lazy(OptionsWithUnsupportedType.class));
+        assertEquals("l", e.getOption());
+    }
+
+    interface MultiOptions {
+        @Option("l")
+        boolean logging();
+
+        @Option("p")
+        int port();
+
+        @Option("d")
+        String directory();
+
+        @Option("g")
+        String[] group();
+
+        default String address() {
+            return "localhost:" + port();
+        }
+    }
+
+    record Counted() {
+    }
+
+    interface CountedOptions {
+        @Option("c")
+        Counted counted();
+    }
+
+    interface OptionsWithoutAnnotation {
+        int port();
+    }
+
+    interface OptionsWithUnsupportedType {
+        @Option("l")
+        Object logging();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.tdd;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NumbersTest {
+    private static final List<String> VALUES = List.of("0", "8080", "-1", "+7", "-", "+", "", "port", "1_000", "08",
+            "2147483647", "2147483648", "-2147483648", "-2147483649", "9223372036854775807", "9223372036854775808",
+            "-9223372036854775808", "-9223372036854775809", "99999999999999999999", "\u0661\u0662",
+            "0.5", "-1.5", ".5", "5.", ".", "1e10", "1E-3", "1e", "1e+", "2.5f", "3d", "1.0x", " 1.5 ", "NaN", "-Infinity",
+            "Infinityx", "0x1p3", "0x1.8P-1", "0x1", "0xp1", "1..2", "--1", "e5");
+
+    @Test
+    void should_accept_exactly_what_integer_parse_accepts() {
+        for (String value : VALUES) {
+            assertEquals(accepts(() -> Integer.parseInt(value)), Numbers.isInt(value), value);
+        }
+    }
+
+    @Test
+    void should_accept_exactly_what_long_parse_accepts() {
+        for (String value : VALUES) {
+            assertEquals(accepts(() -> Long.parseLong(value)), Numbers.isLong(value), value);
+        }
+    }
+
+    @Test
+    void should_accept_exactly_what_double_parse_accepts() {
+        for (String value : VALUES) {
+            assertEquals(accepts(() -> Double.parseDouble(value)), Numbers.isDouble(value), value);
+        }
+    }
+
+    private static boolean accepts(Runnable parse) {
+        try {
+            parse.run();
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
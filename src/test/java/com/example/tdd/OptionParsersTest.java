@@ -11,9 +11,12 @@ import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import static com.example.tdd.OptionParsers.*;
 import static com.example.tdd.OptionParsersTest.BoolOptionParser.option;
@@ -196,6 +199,28 @@ class OptionParsersTest {
             assertEquals("this", e.getValue());
         }
 
+        @Test
+        void should_parse_list_value_in_parallel_above_threshold() {
+            String[] arguments = IntStream.range(0, 10_000).mapToObj(String::valueOf).toArray(String[]::new);
+            Integer[] value = list(Integer[]::new, Integer::parseInt, 100).parse(concat("-d", arguments), option("d"));
+            assertArrayEquals(IntStream.range(0, 10_000).boxed().toArray(Integer[]::new), value);
+        }
+
+        @Test
+        void should_throw_exception_for_first_illegal_value_in_parallel_mode() {
+            String[] arguments = IntStream.range(0, 10_000).mapToObj(it -> it % 1000 == 999 ? "bad" + it : String.valueOf(it)).toArray(String[]::new);
+            IllegalValueException e = assertThrows(IllegalValueException.class,
+                    () -> list(Integer[]::new, Integer::parseInt, 100).parse(concat("-d", arguments), option("d")));
+            assertEquals("d", e.getOption());
+            assertEquals("bad999", e.getValue());
+        }
+
+        private static List<String> concat(String flag, String[] values) {
+            List<String> arguments = new ArrayList<>(asList(values));
+            arguments.add(0, flag);
+            return arguments;
+        }
+
         @Test
         void should_parser_list_value_for_full_option() {
             Function parser = Mockito.mock(Function.class);
@@ -206,6 +231,42 @@ class OptionParsersTest {
         }
     }
 
+    @Nested
+    class PrimitiveListOptionParser {
+        @Test
+        void should_parse_int_list_value() {
+            int[] value = intList(Integer::parseInt).parse(asList("-d", "1", "-2", "3"), option("d"));
+            assertArrayEquals(new int[]{1, -2, 3}, value);
+        }
+
+        @Test
+        void should_parse_long_list_value() {
+            long[] value = longList(Long::parseLong).parse(asList("-d", "1", "8589934592"), option("d"));
+            assertArrayEquals(new long[]{1, 8589934592L}, value);
+        }
+
+        @Test
+        void should_parse_double_list_value_for_full_option() {
+            double[] value = doubleList(Double::parseDouble).parse(asList("--ratio", "0.5", "-1.5"), option("ratio", Format.DASH));
+            assertArrayEquals(new double[]{0.5, -1.5}, value);
+        }
+
+        @Test
+        void should_use_empty_array_as_default_value() {
+            assertEquals(0, intList(Integer::parseInt).parse(asList(), option("d")).length);
+            assertEquals(0, longList(Long::parseLong).parse(asList(), option("d")).length);
+            assertEquals(0, doubleList(Double::parseDouble).parse(asList(), option("d")).length);
+        }
+
+        @Test
+        void should_throw_exception_if_value_parser_cant_parse_value() {
+            IllegalValueException e = assertThrows(IllegalValueException.class,
+                    () -> intList(Integer::parseInt).parse(asList("-d", "1", "two", "3"), option("d")));
+            assertEquals("d", e.getOption());
+            assertEquals("two", e.getValue());
+        }
+    }
+
     @Nested
     class MapOptionParser {
         @Test
@@ -236,6 +297,13 @@ class OptionParsersTest {
             assertEquals(Map.of("MYSQL_ALLOW_EMPTY_PASSWORD", "yes"), value);
         }
 
+        @Test
+        void should_keep_separator_in_value() {
+            Map<String, String> value = map(Map.of(), String::valueOf, String::valueOf)
+                    .parse(asList("-e", "JAVA_OPTS=-Dfoo=bar"), option("e"));
+            assertEquals(Map.of("JAVA_OPTS", "-Dfoo=bar"), value);
+        }
+
         @Test
         void should_throw_exception_when_parse_illegal_value() {
             IllegalValueException e = assertThrows(IllegalValueException.class, () -> map(Map.of(), String::valueOf, String::valueOf)
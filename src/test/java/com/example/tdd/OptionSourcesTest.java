@@ -0,0 +1,104 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.IllegalValueException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptionSourcesTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void should_prefer_command_line_over_environment_over_config() throws IOException {
+        Path config = write("app.properties", "p=7070\nd=/etc/logs\nl=true\n");
+        OptionSources sources = OptionSources.of()
+                .withEnvironment("APP_", Map.of("APP_P", "9090", "APP_D", "/var/logs"))
+                .withConfig(config);
+
+        ArgsTest.MultiOptions options = Args.parse(ArgsTest.MultiOptions.class, sources, "-p", "8080");
+
+        assertTrue(options.logging());
+        assertEquals(8080, options.port());
+        assertEquals("/var/logs", options.directory());
+    }
+
+    @Test
+    void should_fall_back_to_default_when_no_source_has_option() {
+        ArgsTest.MultiOptions options = Args.parse(ArgsTest.MultiOptions.class, OptionSources.of().withConfig(directory.resolve("missing.properties")));
+
+        assertEquals(new ArgsTest.MultiOptions(false, 0, ""), options);
+    }
+
+    @Test
+    void should_map_option_names_to_environment_variables() {
+        OptionSources sources = OptionSources.of().withEnvironment("APP_",
+                Map.of("APP_LOG_LEVEL", "debug", "APP_GROUP", "this 'is a' list", "APP_DRY_RUN", "false"));
+
+        DashOptions options = Args.parse(DashOptions.class, sources);
+
+        assertEquals("APP_LOG_LEVEL", sources.variable(Args.option("log-level", Format.DASH)));
+        assertEquals("debug", options.level());
+        assertArrayEquals(new String[]{"this", "is a", "list"}, options.group());
+        assertFalse(options.dryRun());
+    }
+
+    @Test
+    void should_report_illegal_value_from_source() {
+        ParseResult<ArgsTest.MultiOptions> result = Args.tryParse(ArgsTest.MultiOptions.class, OptionSources.of().withEnvironment("", Map.of("P", "port")));
+
+        assertEquals(IllegalValueException.class, result.problems().get(0).kind().exceptionType());
+    }
+
+    @Test
+    void should_pass_layered_values_to_parser_without_lexing_them() {
+        OptionSources sources = OptionSources.of().withEnvironment("APP_", Map.of("APP_D", "-xyz", "APP_P", "-1"));
+
+        assertEquals(new ArgsTest.MultiOptions(false, -1, "-xyz"), Args.parse(ArgsTest.MultiOptions.class, sources));
+        assertEquals("@/etc/passwd", Args.parse(ArgsTest.MultiOptions.class, OptionSources.of().withEnvironment("", Map.of("D", "@/etc/passwd"))).directory());
+    }
+
+    @Test
+    void should_report_source_of_illegal_layered_value() throws IOException {
+        Path config = write("bad.properties", "p=port\n");
+
+        ParseResult<ArgsTest.MultiOptions> result = Args.tryParse(ArgsTest.MultiOptions.class, OptionSources.of().withConfig(config));
+
+        assertEquals(List.of(new Problem(Problem.Kind.ILLEGAL_VALUE, "p", "port", -1, config + "#p")), result.problems());
+    }
+
+    @Test
+    void should_cache_config_until_file_changes() throws IOException {
+        Path config = write("cached.properties", "p=7070\n");
+        FileTime modified = Files.getLastModifiedTime(config);
+
+        Map<String, String> first = ConfigFile.properties(config);
+        assertSame(first, ConfigFile.properties(config));
+
+        Files.writeString(config, "p=7071\n");
+        Files.setLastModifiedTime(config, FileTime.fromMillis(modified.toMillis() + 1000));
+
+        assertEquals(7071, Args.parse(ArgsTest.MultiOptions.class, OptionSources.of().withConfig(config)).port());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    record DashOptions(@Option(value = "log-level", format = Format.DASH) String level,
+                       @Option(value = "group", format = Format.DASH) String[] group,
+                       @Option(value = "dry-run", format = Format.DASH) boolean dryRun) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.IllegalOptionException;
+import com.example.tdd.exceptions.IllegalValueException;
+import com.example.tdd.exceptions.TooManyArgumentsException;
+import com.example.tdd.exceptions.UnsupportedOptionTypeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseMetricsTest {
+    private final ParseMetrics metrics = new ParseMetrics();
+
+    @BeforeEach
+    void listen() {
+        Args.listen(metrics);
+    }
+
+    @AfterEach
+    void stopListening() {
+        Args.listen(null);
+    }
+
+    @Test
+    void should_record_parse_and_option_timings() {
+        Args.parse(ArgsTest.MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
+        Args.parse(ArgsTest.MultiOptions.class, "-p", "8081");
+        assertEquals(2, metrics.parses());
+        assertEquals(7, metrics.tokens());
+        assertTrue(metrics.nanos() > 0);
+        assertTrue(metrics.optionNanos(ArgsTest.MultiOptions.class, "p") > 0);
+    }
+
+    @Test
+    void should_count_failures_by_exception_type() {
+        assertThrows(RuntimeException.class, () -> Args.parse(ArgsTest.MultiOptions.class, "-p", "port"));
+        Args.tryParse(ArgsTest.MultiOptions.class, "-l", "true", "-p", "port");
+        assertEquals(2, metrics.failures(IllegalValueException.class));
+        assertEquals(1, metrics.failures(TooManyArgumentsException.class));
+    }
+
+    @Test
+    void should_count_schema_errors_as_failures() {
+        assertThrows(IllegalOptionException.class, () -> Args.parse(ArgsTest.OptionsWithoutAnnotation.class, "-l"));
+        assertThrows(IllegalOptionException.class, () -> Args.tryParse(ArgsTest.OptionsWithoutAnnotation.class, "-l"));
+        assertThrows(UnsupportedOptionTypeException.class, () -> Args.parser(ArgsTest.OptionsWithUnsupportedType.class));
+        assertEquals(2, metrics.failures(IllegalOptionException.class));
+        assertEquals(1, metrics.failures(UnsupportedOptionTypeException.class));
+    }
+
+    @Test
+    void should_pass_option_parser_to_listener() {
+        List<OptionParser<?>> parsers = new ArrayList<>();
+        Args.listen(new ParseListener() {
+            @Override
+            public void optionParsed(Class<?> optionClass, Option option, Class<?> type, OptionParser<?> parser, long nanos) {
+                parsers.add(parser);
+            }
+        });
+        Args.parse(ArgsTest.MultiOptions.class, "-p", "8080");
+        assertEquals(List.of(Args.plan(ArgsTest.MultiOptions.class).parsers()), parsers);
+    }
+
+    @Test
+    void should_not_record_after_listener_removed() {
+        Args.listen(null);
+        Args.parse(ArgsTest.MultiOptions.class, "-p", "8080");
+        assertEquals(0, metrics.parses());
+    }
+}
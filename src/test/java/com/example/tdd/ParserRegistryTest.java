@@ -0,0 +1,152 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.UnsupportedOptionTypeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParserRegistryTest {
+    @AfterEach
+    void unregister() {
+        Args.unregister(Version.class);
+        Args.unregister(Shape.class);
+        Args.unregister(Number.class);
+    }
+
+    @Test
+    void should_parse_built_in_value_types() {
+        ValueOptions options = Args.parse(ValueOptions.class, "-l", "9000000000", "-r", "0.5", "-f", "/usr/logs", "-t", "PT30S", "-m", "FAST");
+
+        assertEquals(9_000_000_000L, options.limit());
+        assertEquals(0.5, options.ratio());
+        assertEquals(Path.of("/usr/logs"), options.file());
+        assertEquals(Duration.ofSeconds(30), options.timeout());
+        assertEquals(Mode.FAST, options.mode());
+    }
+
+    @Test
+    void should_use_default_values_for_missing_built_in_types() {
+        ValueOptions options = Args.parse(ValueOptions.class);
+
+        assertEquals(0L, options.limit());
+        assertEquals(0.0, options.ratio());
+        assertNull(options.file());
+        assertNull(options.mode());
+    }
+
+    @Test
+    void should_resolve_array_by_component_type() {
+        ArrayOptions options = Args.parse(ArrayOptions.class, "-m", "FAST", "SAFE", "-p", "/a", "/b");
+
+        assertArrayEquals(new Mode[]{Mode.FAST, Mode.SAFE}, options.modes());
+        assertArrayEquals(new Path[]{Path.of("/a"), Path.of("/b")}, options.paths());
+    }
+
+    @Test
+    void should_parse_map_with_typed_keys_and_values() {
+        MapOptions options = Args.parse(MapOptions.class, "-e", "HOME=/root", "-w", "FAST=2", "SAFE=1");
+
+        assertEquals(Map.of("HOME", "/root"), options.environment());
+        assertEquals(Map.of(Mode.FAST, 2, Mode.SAFE, 1), options.weights());
+    }
+
+    @Test
+    void should_use_registered_value_parser_for_type_and_its_arrays() {
+        Args.register(Version.class, new Version(0, 0), Version::parse);
+
+        VersionOptions options = Args.parse(VersionOptions.class, "-v", "1.2", "-s", "1.0", "2.1");
+
+        assertEquals(new Version(1, 2), options.version());
+        assertArrayEquals(new Version[]{new Version(1, 0), new Version(2, 1)}, options.supported());
+    }
+
+    @Test
+    void should_resolve_subtype_parser_registered_for_supertype() {
+        Args.registerSubtypes(Shape.class, type -> type == Circle.class ? OptionParsers.unary(null, it -> new Circle(Integer.parseInt(it))) : null);
+
+        assertEquals(new Circle(3), Args.parse(CircleOptions.class, "-c", "3").circle());
+        UnsupportedOptionTypeException e = assertThrows(UnsupportedOptionTypeException.class, () -> Args.parse(SquareOptions.class));
+        assertEquals(Square.class, e.getType());
+    }
+
+    @Test
+    void should_not_use_supertype_value_parser_for_subtype() {
+        Args.register(Number.class, 0, Double::valueOf);
+
+        UnsupportedOptionTypeException e = assertThrows(UnsupportedOptionTypeException.class, () -> Args.parse(DecimalOptions.class, "-d", "1.5"));
+        assertEquals(BigDecimal.class, e.getType());
+    }
+
+    @Test
+    void should_restore_built_in_parser_when_unregistered() {
+        Args.register(Long.class, -1L, it -> -Long.parseLong(it));
+        assertEquals(Long.valueOf(-5), Args.optionParser(Long.class).parse(Tokens.of("-l", "5"), Args.option("l", Format.HYPHEN)));
+
+        Args.unregister(Long.class);
+        assertEquals(Long.valueOf(5), Args.optionParser(Long.class).parse(Tokens.of("-l", "5"), Args.option("l", Format.HYPHEN)));
+    }
+
+    @Test
+    void should_memoize_resolved_parser() {
+        assertSame(Args.optionParser(Mode[].class), Args.optionParser(Mode[].class));
+    }
+
+    @Test
+    void should_not_accept_type_without_parser() {
+        UnsupportedOptionTypeException e = assertThrows(UnsupportedOptionTypeException.class, () -> Args.parse(UnsupportedOptions.class));
+        assertEquals(Thread.class, e.getType());
+    }
+
+    enum Mode {FAST, SAFE}
+
+    record ValueOptions(@Option("l") long limit, @Option("r") double ratio, @Option("f") Path file,
+                        @Option("t") Duration timeout, @Option("m") Mode mode) {
+    }
+
+    record ArrayOptions(@Option("m") Mode[] modes, @Option("p") Path[] paths) {
+    }
+
+    record MapOptions(@Option("e") Map<String, String> environment, @Option("w") Map<Mode, Integer> weights) {
+    }
+
+    record Version(int major, int minor) {
+        static Version parse(String value) {
+            String[] parts = value.split("\\.");
+            return new Version(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+
+    record VersionOptions(@Option("v") Version version, @Option("s") Version[] supported) {
+    }
+
+    interface Shape {
+    }
+
+    record Circle(int radius) implements Shape {
+    }
+
+    record Square(int side) implements Shape {
+    }
+
+    record CircleOptions(@Option("c") Circle circle) {
+    }
+
+    record SquareOptions(@Option("s") Square square) {
+    }
+
+    record DecimalOptions(@Option("d") BigDecimal decimal) {
+    }
+
+    record UnsupportedOptions(@Option("t") Thread thread) {
+    }
+}
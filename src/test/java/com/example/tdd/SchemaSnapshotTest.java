@@ -0,0 +1,56 @@
+package com.example.tdd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaSnapshotTest {
+    @TempDir
+    Path output;
+
+    @Test
+    void should_parse_with_plan_read_from_snapshot() {
+        byte[] snapshot = SchemaSnapshot.write(ParsePlan.of(MixedOptions.class));
+        ParsePlan plan = SchemaSnapshot.read(MixedOptions.class, snapshot).orElseThrow();
+        assertEquals(8080, ((MixedOptions) plan.parse("-l", "-p", "8080")).port());
+        assertArrayEquals(new String[]{"this", "is"}, ((MixedOptions) plan.parse("--group", "this", "is")).group());
+    }
+
+    @Test
+    void should_ignore_snapshot_of_other_class() {
+        byte[] snapshot = SchemaSnapshot.write(ParsePlan.of(MixedOptions.class));
+        assertEquals(Optional.empty(), SchemaSnapshot.read(OtherOptions.class, snapshot));
+    }
+
+    @Test
+    void should_ignore_corrupted_snapshot() {
+        byte[] snapshot = SchemaSnapshot.write(ParsePlan.of(MixedOptions.class));
+        assertEquals(Optional.empty(), SchemaSnapshot.read(MixedOptions.class, Arrays.copyOf(snapshot, snapshot.length - 3)));
+        assertEquals(Optional.empty(), SchemaSnapshot.read(MixedOptions.class, new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void should_write_snapshots_for_option_classes_only() throws IOException {
+        Path classes = Path.of(MixedOptions.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+        SchemaWriter.main(new String[]{classes.toString(), output.toString()});
+        assertTrue(Files.exists(output.resolve(SchemaSnapshot.resource(MixedOptions.class))));
+        assertTrue(Files.notExists(output.resolve(SchemaSnapshot.DIRECTORY + SchemaSnapshotTest.class.getName() + ".schema")));
+    }
+
+    record MixedOptions(@Option("l") boolean logging, @Option("p") int port,
+                        @Option(value = "group", format = Format.DASH) String[] group) {
+    }
+
+    record OtherOptions(@Option("l") boolean logging, @Option("p") int port,
+                        @Option(value = "group", format = Format.DASH) String[] group) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.tdd;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StringPoolTest {
+    private final StringPool pool = StringPool.of(1000);
+
+    @BeforeEach
+    void intern() {
+        Args.intern(pool);
+    }
+
+    @AfterEach
+    void stopInterning() {
+        Args.intern(null);
+    }
+
+    @Test
+    void should_round_capacity_to_power_of_two() {
+        assertEquals(1024, pool.capacity());
+        assertEquals(1, StringPool.of(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> StringPool.of(0));
+    }
+
+    @Test
+    void should_return_pooled_instance_for_equal_string() {
+        String logs = pool.intern(new String("/usr/logs"));
+        assertSame(logs, pool.intern(new String("/usr/logs")));
+    }
+
+    @Test
+    void should_share_string_values_across_parses() {
+        ArgsTest.MultiOptions first = Args.parse(ArgsTest.MultiOptions.class, "-d", new String("/usr/logs"));
+        ArgsTest.MultiOptions second = Args.parse(ArgsTest.MultiOptions.class, "-d", new String("/usr/logs"));
+        assertSame(first.directory(), second.directory());
+    }
+
+    @Test
+    void should_share_list_values() {
+        ArgsTest.ListOptions options = Args.parse(ArgsTest.ListOptions.class, "-g", new String("this"), new String("this"));
+        assertSame(options.group()[0], options.group()[1]);
+    }
+
+    @Test
+    void should_intern_map_keys_into_immutable_map() {
+        OptionParser<Map<String, String>> parser = OptionParsers.map(Map.of(), String::valueOf, String::valueOf);
+        Option option = Args.option("e", Format.HYPHEN);
+        Map<String, String> first = parser.parse(Tokens.of("-e", "HOME=/root", "USER=root"), option);
+        Map<String, String> second = parser.parse(Tokens.of("-e", "HOME=/home"), option);
+
+        assertEquals(Map.of("HOME", "/root", "USER", "root"), first);
+        assertSame(first.keySet().stream().filter("HOME"::equals).findFirst().orElseThrow(), second.keySet().iterator().next());
+        assertThrows(UnsupportedOperationException.class, () -> first.put("PATH", "/bin"));
+    }
+
+    @Test
+    void should_keep_separate_instances_when_not_interning() {
+        Args.intern(null);
+        ArgsTest.MultiOptions first = Args.parse(ArgsTest.MultiOptions.class, "-d", new String("/usr/logs"));
+        ArgsTest.MultiOptions second = Args.parse(ArgsTest.MultiOptions.class, "-d", new String("/usr/logs"));
+        assertNotSame(first.directory(), second.directory());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.tdd;
+
+import com.example.tdd.exceptions.IllegalSubcommandException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubcommandsTest {
+    private final List<String> loaded = new ArrayList<>();
+
+    @Test
+    void should_dispatch_on_subcommand_name() {
+        Subcommands.Command<GlobalOptions> command = Subcommands.of(GlobalOptions.class)
+                .register("run", RunOptions.class)
+                .register("build", BuildOptions.class)
+                .parse("-v", "build", "-g", "core", "cli");
+        assertEquals("build", command.name());
+        assertTrue(command.global().verbose());
+        assertArrayEquals(new String[]{"core", "cli"}, command.options(BuildOptions.class).group());
+    }
+
+    @Test
+    void should_only_load_chosen_subcommand() {
+        Subcommands.Command<Void> command = Subcommands.of()
+                .register("run", loading("run", RunOptions.class))
+                .register("build", loading("build", BuildOptions.class))
+                .parse("run", "-p", "8080");
+        assertEquals(8080, command.options(RunOptions.class).port());
+        assertNull(command.global());
+        assertEquals(List.of("run"), loaded);
+    }
+
+    @Test
+    void should_throw_exception_if_subcommand_not_registered() {
+        IllegalSubcommandException e = assertThrows(IllegalSubcommandException.class,
+                () -> Subcommands.of().register("run", RunOptions.class).parse("-v", "deploy"));
+        assertEquals("deploy", e.getSubcommand());
+    }
+
+    @Test
+    void should_skip_values_of_global_options_before_dispatch() {
+        Subcommands.Command<ConfigOptions> command = Subcommands.of(ConfigOptions.class)
+                .register("run", RunOptions.class)
+                .register("build", BuildOptions.class)
+                .parse("-c", "run", "-t", "a", "b", "build", "-g", "core");
+        assertEquals("build", command.name());
+        assertEquals("run", command.global().config());
+        assertArrayEquals(new String[]{"a", "b"}, command.global().tags());
+        assertArrayEquals(new String[]{"core"}, command.options(BuildOptions.class).group());
+    }
+
+    @Test
+    void should_report_first_positional_token_if_subcommand_not_registered() {
+        IllegalSubcommandException e = assertThrows(IllegalSubcommandException.class,
+                () -> Subcommands.of(ConfigOptions.class).register("run", RunOptions.class).parse("-c", "cfg", "foo"));
+        assertEquals("foo", e.getSubcommand());
+    }
+
+    private Supplier<Class<?>> loading(String name, Class<?> optionClass) {
+        return () -> {
+            loaded.add(name);
+            return optionClass;
+        };
+    }
+
+    record GlobalOptions(@Option("v") boolean verbose) {
+    }
+
+    record ConfigOptions(@Option("c") String config, @Option("t") String[] tags) {
+    }
+
+    record RunOptions(@Option("p") int port) {
+    }
+
+    record BuildOptions(@Option("g") String[] group) {
+    }
+}
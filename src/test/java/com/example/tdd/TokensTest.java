@@ -0,0 +1,63 @@
+package com.example.tdd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokensTest {
+    @Test
+    void should_index_values_of_each_flag_until_next_flag() {
+        Tokens tokens = Tokens.of("-g", "this", "is", "-d", "1", "-3", "--port", "8080");
+        assertEquals(List.of("this", "is"), tokens.values("-g"));
+        assertEquals(List.of("1", "-3"), tokens.values("-d"));
+        assertEquals(List.of("8080"), tokens.values("--port"));
+    }
+
+    @Test
+    void should_concat_values_of_repeated_flag() {
+        Tokens tokens = Tokens.of("-e", "A=1", "-l", "-e", "B=2", "C=3");
+        assertEquals(List.of("A=1", "B=2", "C=3"), tokens.values("-e"));
+    }
+
+    @Test
+    void should_return_null_if_flag_not_present() {
+        assertNull(Tokens.of("-l").values("-p"));
+    }
+
+    @Test
+    void should_index_values_of_hundreds_of_options() {
+        Option[] options = new Option[500];
+        String[] arguments = new String[options.length * 2];
+        for (int i = 0; i < options.length; i++) {
+            options[i] = Args.option("option" + (char) ('a' + i / 26 % 26) + (char) ('a' + i % 26) + (char) ('a' + i / 676), Format.DASH);
+            arguments[2 * i] = OptionParsers.flag(options[i]);
+            arguments[2 * i + 1] = String.valueOf(i);
+        }
+        arguments[0] = "--optionaa";
+        Tokens tokens = Tokens.of(FlagTrie.of(options), arguments);
+        for (int i = 0; i < options.length; i++) {
+            assertEquals(List.of(String.valueOf(i)), tokens.values(OptionParsers.flag(options[i])));
+            assertEquals(1, tokens.arity(OptionParsers.flag(options[i])));
+        }
+        assertNull(tokens.values("--optionzzz"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-l", "--logging", "-L"})
+    void should_classify_flag(String token) {
+        assertTrue(Tokens.isFlag(token));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-", "--", "-1", "---l", "-l1", "l", "/usr/logs"})
+    void should_not_classify_value_as_flag(String token) {
+        assertFalse(Tokens.isFlag(token));
+    }
+}